@@ -0,0 +1,88 @@
+package com.example.Expense_Tracker.Security;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Expense_Tracker.Model.User;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Token issue and verification, the work done by login and by JwtAuthFilter on every request.
+ * extractUsername and isTokenValid go through the verified-claims cache; parseUncached is
+ * the cost of a cache miss (signature check and claim decoding). legacyThreeParses is the
+ * baseline from before the single-parse change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS1hdC1sZWFzdC0yNTYtYml0cy1sb25nLW9rYXk=";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 10_000, new SimpleMeterRegistry());
+        user = User.builder().id(42L).username("bench").password("x").email("bench@example.com").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public VerifiedToken parseUncached() {
+        return jwtService.parse(token);
+    }
+
+    // What JwtAuthFilter used to do: extractUsername, then isTokenValid
+    // (extractUsername + extractExpiration), each rebuilding key and parser
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(legacyClaims(token).getSubject())
+            && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyClaims(String jwt) {
+        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
+        SecretKey key = Keys.hmacShaKeyFor(keyBytes);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.Expense_Tracker.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.TimeSeries;
+
+/**
+ * Dashboard aggregation at 1k/100k/1M expenses. The cache is evicted before each call so
+ * the numbers are the cost of a miss; statisticsCached is the steady-state hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DashboardServiceBenchmark {
+
+    private DashboardService dashboardService;
+    private DashboardCache dashboardCache;
+    private Long userId;
+
+    @Setup
+    public void setUp(SeededExpenses seeded) {
+        dashboardService = seeded.bean(DashboardService.class);
+        dashboardCache = seeded.bean(DashboardCache.class);
+        userId = seeded.userId;
+    }
+
+    @Benchmark
+    public Map<String, Object> statistics() {
+        dashboardCache.evict(userId);
+        return dashboardService.getDashboardStatistics(userId);
+    }
+
+    @Benchmark
+    public Map<String, Object> statisticsCached() {
+        return dashboardService.getDashboardStatistics(userId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> categoryBreakdown() {
+        dashboardCache.evict(userId);
+        return dashboardService.getCategoryBreakdown(userId);
+    }
+
+    @Benchmark
+    public Map<String, Object> summary() {
+        dashboardCache.evict(userId);
+        return dashboardService.getSummary(userId, ExpenseFilter.NONE);
+    }
+
+    @Benchmark
+    public Map<String, Object> statisticsLast30Days() {
+        dashboardCache.evict(userId);
+        LocalDate today = LocalDate.now();
+        return dashboardService.getStatistics(userId, new ExpenseFilter(null, null, today.minusDays(30), today));
+    }
+
+    @Benchmark
+    public TimeSeries dailySeriesLast90Days() {
+        dashboardCache.evict(userId);
+        LocalDate today = LocalDate.now();
+        return dashboardService.getTimeSeries(userId, today.minusDays(89), today, TimeSeries.Granularity.DAY);
+    }
+
+    @Benchmark
+    public TimeSeries monthlySeriesTwoYears() {
+        dashboardCache.evict(userId);
+        LocalDate today = LocalDate.now();
+        return dashboardService.getTimeSeries(userId, today.minusYears(2), today, TimeSeries.Granularity.MONTH);
+    }
+}
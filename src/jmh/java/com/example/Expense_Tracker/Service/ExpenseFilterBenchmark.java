@@ -0,0 +1,77 @@
+package com.example.Expense_Tracker.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Expense_Tracker.DTO.CursorPage;
+import com.example.Expense_Tracker.DTO.ExpenseCursor;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.Model.Expense;
+
+/**
+ * The expense list filter at 1k/100k/1M expenses: first page, a page from the middle of
+ * the list reached by cursor, a combined search/category/date filter and its count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExpenseFilterBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ExpenseService expenseService;
+    private Long userId;
+    private String middleCursor;
+    private ExpenseFilter combinedFilter;
+
+    @Setup
+    public void setUp(SeededExpenses seeded) {
+        expenseService = seeded.bean(ExpenseService.class);
+        userId = seeded.userId;
+        JdbcTemplate jdbc = seeded.bean(JdbcTemplate.class);
+        middleCursor = jdbc.queryForObject(
+            "SELECT created_at, id FROM expenses WHERE user_id = ? ORDER BY created_at DESC, id DESC LIMIT 1 OFFSET ?",
+            (rs, row) -> new ExpenseCursor(ExpenseCursor.Direction.OLDER,
+                rs.getTimestamp("created_at").toLocalDateTime(), rs.getLong("id")).encode(),
+            userId, seeded.expenseCount / 2);
+        LocalDate today = LocalDateTime.now().toLocalDate();
+        combinedFilter = new ExpenseFilter(SeededExpenses.SEARCH_TERM, Expense.Category.FOOD, today.minusDays(180), today);
+    }
+
+    @Benchmark
+    public CursorPage<ExpenseView> firstPage() {
+        return expenseService.getFilteredExpenses(userId, ExpenseFilter.NONE, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<ExpenseView> middlePage() {
+        return expenseService.getFilteredExpenses(userId, ExpenseFilter.NONE, middleCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<ExpenseView> combinedFilterFirstPage() {
+        return expenseService.getFilteredExpenses(userId, combinedFilter, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long combinedFilterCount() {
+        return expenseService.countFilteredExpenses(userId, combinedFilter);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.Expense_Tracker.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Expense_Tracker.ExpenseTrackerApplication;
+import com.example.Expense_Tracker.Model.Expense;
+
+/**
+ * The application context on an in-memory H2 database (the test profile, PostgreSQL mode)
+ * holding one user with expenseCount synthetic expenses spread over the last two years.
+ * Every tenth description contains "lunch" so search filters have something to match.
+ */
+@State(Scope.Benchmark)
+public class SeededExpenses {
+
+    static final String SEARCH_TERM = "lunch";
+
+    private static final int DAYS = 730;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int expenseCount;
+
+    ConfigurableApplicationContext context;
+    Long userId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+            .profiles("test")
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .properties(
+                "spring.main.banner-mode=off",
+                "logging.level.root=ERROR",
+                "spring.datasource.url=jdbc:h2:mem:bench_" + expenseCount
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.properties.hibernate.generate_statistics=false")
+            .run();
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO users (username, password, email) VALUES ('bench', 'x', 'bench@example.com')");
+        userId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'bench'", Long.class);
+        seed(jdbc);
+        context.getBean(ExpenseRollupService.class).rebuildForUser(userId);
+        jdbc.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Expense.Category[] categories = Expense.Category.values();
+        LocalDateTime now = LocalDateTime.now();
+        // Spread evenly over the range, newest first, so ids and dates grow together
+        long secondsBetween = Math.max(1, DAYS * 86_400L / expenseCount);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < expenseCount; i++) {
+            String description = (i % 10 == 0 ? "team " + SEARCH_TERM + " " : "expense ") + i;
+            batch.add(new Object[] {
+                BigDecimal.valueOf(100 + (i * 7919L) % 9900, 2),
+                description,
+                categories[i % categories.length].name(),
+                Timestamp.valueOf(now.minusSeconds((expenseCount - i) * secondsBetween)),
+                userId
+            });
+            if (batch.size() == BATCH_SIZE || i == expenseCount - 1) {
+                jdbc.batchUpdate("INSERT INTO expenses (amount, description, category, created_at, user_id) VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.Expense_Tracker.Config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Takes a DatabaseAdmissionLimiter permit before borrowing a pooled connection and
+ * returns it when the connection is closed, so a permit is held exactly as long as
+ * a connection (a whole transaction, not a single repository call).
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final DatabaseAdmissionLimiter limiter;
+
+    public AdmissionControlledDataSource(DataSource target, DatabaseAdmissionLimiter limiter) {
+        super(target);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        limiter.acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        limiter.acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                    try {
+                        connection.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            limiter.release();
+                        }
+                    }
+                    return null;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+}
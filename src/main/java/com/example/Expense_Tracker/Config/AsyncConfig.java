@@ -0,0 +1,102 @@
+package com.example.Expense_Tracker.Config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Runs the independent parts of the dashboard summary in parallel.
+     * Kept small and bounded: every part holds a database connection while it runs.
+     * When the queue is full the part runs on the calling request thread instead.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${dashboard.executor.pool-size:4}") int poolSize,
+            @Value("${dashboard.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * BCrypt hashing and verification for login and registration, off the request threads.
+     * Sized to a few cores so a login burst cannot take all CPU; the default AbortPolicy
+     * rejects work once the queue is full and the caller answers 429.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${security.password.hash-pool-size:2}") int poolSize,
+            @Value("${security.password.hash-queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Computes dashboard stream events (DashboardStreams): the statistics each change is
+     * pushed with. At most one task per user channel is queued at a time, so the queue is
+     * bounded by the number of users with open streams. Writing the events to the clients
+     * runs on dashboardStreamWriter, so a client that stops reading cannot stall this pool.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardStreamExecutor(
+            @Value("${dashboard.stream.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("dashboard-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes dashboard stream events to the clients. Writes are blocking and a stalled client
+     * holds its thread until the connection gives up, so threads are created on demand (one
+     * write in flight per stream at most) instead of sharing a fixed few; idle ones exit.
+     * Beyond max-writers concurrent writes the stream that needs one more is closed.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardStreamWriter(
+            @Value("${dashboard.stream.max-writers:200}") int maxWriters) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(maxWriters);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("dashboard-stream-writer-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Builds report artifacts (ReportService). Few threads, since each build holds a
+     * database connection per chunk and writes a file; the bounded queue and AbortPolicy
+     * turn a backlog into 429s at submission instead of reports that never start.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${report.pool-size:2}") int poolSize,
+            @Value("${report.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.initialize();
+        return executor;
+    }
+}
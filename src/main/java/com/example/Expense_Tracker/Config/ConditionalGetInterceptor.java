@@ -0,0 +1,52 @@
+package com.example.Expense_Tracker.Config;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.Expense_Tracker.Security.AuthenticatedUser;
+import com.example.Expense_Tracker.Service.UserDataVersions;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ETags for GETs of a user's expense and dashboard data, derived from the user's data
+ * version instead of the response body. A matching If-None-Match is answered with 304
+ * before the handler runs, so an unchanged resource costs no queries.
+ * The tags are weak: Tomcat does not compress responses with a strong ETag, and
+ * If-None-Match compares weakly anyway.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final UserDataVersions dataVersions;
+
+    public ConditionalGetInterceptor(UserDataVersions dataVersions) {
+        this.dataVersions = dataVersions;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
+            return true;
+        }
+        // Clients may keep the response but must revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag(principal.id(), request));
+    }
+
+    // Several endpoints are relative to today (this month, last 7 days), so the date is part of the tag
+    private String etag(Long userId, HttpServletRequest request) {
+        int representation = Objects.hash(request.getRequestURI(), request.getQueryString(), LocalDate.now());
+        return "W/\"" + dataVersions.current(userId) + "-" + Integer.toHexString(representation) + "\"";
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.Expense_Tracker.Config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "db.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseAdmissionConfig {
+
+    /**
+     * Sized to the connection pool by default. Bound to the meter registry as a MeterBinder.
+     */
+    @Bean
+    public DatabaseAdmissionLimiter databaseAdmissionLimiter(
+            @Value("${db.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${db.admission.max-waiting:50}") int maxWaiting,
+            @Value("${db.admission.max-wait:2s}") Duration maxWait) {
+        return new DatabaseAdmissionLimiter(maxConcurrent, maxWaiting, maxWait);
+    }
+
+    // Wraps the auto-configured pool; static so it does not force this configuration to load early
+    @Bean
+    public static BeanPostProcessor admissionControlledDataSourcePostProcessor(ObjectProvider<DatabaseAdmissionLimiter> limiter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                    return new AdmissionControlledDataSource(dataSource, limiter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.Expense_Tracker.Config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.Expense_Tracker.Exception.DatabaseBusyException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Admits at most maxConcurrent database connections at a time, matching the pool size.
+ * Callers beyond that wait in FIFO order for at most maxWait, and once maxWaiting callers
+ * are already waiting new ones are turned away immediately. This keeps a slow database
+ * from piling up threads (or virtual threads) in the pool's 30 second getConnection wait.
+ */
+public class DatabaseAdmissionLimiter implements MeterBinder {
+
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejectedQueueFull = new AtomicLong();
+    private final AtomicLong rejectedTimeout = new AtomicLong();
+
+    // Set once the registry binds this limiter
+    private volatile Timer waitTimer;
+
+    public DatabaseAdmissionLimiter(int maxConcurrent, int maxWaiting, Duration maxWait) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a permit, waiting up to maxWait.
+     * @throws DatabaseBusyException if too many callers are already waiting or the wait timed out
+     */
+    public void acquire() throws DatabaseBusyException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejectedQueueFull.incrementAndGet();
+            throw new DatabaseBusyException("Database is busy: " + maxWaiting + " requests already waiting");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedTimeout.incrementAndGet();
+                throw new DatabaseBusyException("Database is busy: no connection within " + maxWait.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting for a database connection");
+        } finally {
+            waiting.decrementAndGet();
+            Timer timer = waitTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.admission.in.use", this, DatabaseAdmissionLimiter::inUse)
+            .description("Database connections currently admitted")
+            .register(registry);
+        Gauge.builder("db.admission.waiting", this, DatabaseAdmissionLimiter::waiting)
+            .description("Callers waiting to be admitted")
+            .register(registry);
+        Gauge.builder("db.admission.saturation", this, limiter -> (double) limiter.inUse() / limiter.maxConcurrent)
+            .description("Fraction of admission permits in use")
+            .register(registry);
+        FunctionCounter.builder("db.admission.rejected", rejectedQueueFull, AtomicLong::get)
+            .description("Callers turned away by the admission limiter")
+            .tag("reason", "queue_full")
+            .register(registry);
+        FunctionCounter.builder("db.admission.rejected", rejectedTimeout, AtomicLong::get)
+            .description("Callers turned away by the admission limiter")
+            .tag("reason", "timeout")
+            .register(registry);
+        this.waitTimer = Timer.builder("db.admission.wait")
+            .description("Time callers waited to be admitted when no permit was free")
+            .register(registry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.Expense_Tracker.Config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Application metrics beyond what Actuator instruments on its own (HTTP requests,
+ * Hikari, Hibernate statistics): @Timed service methods and SQL statements per request.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on ExpenseService and DashboardService
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer(QueryCountInspector queryCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+
+    // Outermost filter, so statements from the security chain (principal lookups) are counted too
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.Expense_Tracker.Config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records hibernate.queries.per.request, tagged with the handler's URI pattern
+ * like http.server.requests, to spot N+1 patterns and chatty endpoints.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int queries = QueryCountInspector.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("hibernate.queries.per.request")
+                .description("SQL statements executed while handling a request")
+                .baseUnit("queries")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(queries);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.Expense_Tracker.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so
+ * QueryCountFilter can report queries per request. Statements run on other
+ * threads (the dashboard summary parts) are not attributed to the request.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        count.set(new int[1]);
+    }
+
+    // Returns the statements counted since start() and stops counting on this thread
+    static int stop() {
+        int[] current = count.get();
+        count.remove();
+        return current != null ? current[0] : 0;
+    }
+}
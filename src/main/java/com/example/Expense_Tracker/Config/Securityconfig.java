@@ -1,18 +1,25 @@
 package com.example.Expense_Tracker.Config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.example.Expense_Tracker.Security.JwtAuthFilter;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
@@ -20,13 +27,10 @@ import jakarta.servlet.http.HttpServletResponse;
 public class Securityconfig {
 
     
-    private final Webconfig webconfig;
-    
     private final JwtAuthFilter jwtAuthFilter;
 
-    public Securityconfig(Webconfig webconfig, JwtAuthFilter jwtAuthFilter) {
+    public Securityconfig(JwtAuthFilter jwtAuthFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
-        this.webconfig = webconfig;
     }
 
     
@@ -36,22 +40,58 @@ public class Securityconfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(){
-        DaoAuthenticationProvider authProvider= new DaoAuthenticationProvider(webconfig.userDetailsService());
-        authProvider.setPasswordEncoder(webconfig.passwordEncoder());
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder,
+                                                         UserDetailsPasswordService userDetailsPasswordService){
+        DaoAuthenticationProvider authProvider= new DaoAuthenticationProvider(userDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Transparently re-hashes passwords stored with an outdated BCrypt cost
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
+    // JwtAuthFilter is a @Component only so it can be injected; it runs inside the security
+    // filter chain, so keep Boot from also registering it as a plain servlet filter
+    @Bean
+    public FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration(JwtAuthFilter filter) {
+        FilterRegistrationBean<JwtAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // Static assets are public and carry their own Cache-Control (Webconfig), so they get a chain
+    // of their own: no JWT parsing, no security context, and no no-store header over the
+    // immutable caching. Checked before securityFilterChain
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain staticResourcesFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(JwtAuthFilter.STATIC_PATHS)
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+            .csrf(csrf -> csrf.disable())
+            .securityContext(context -> context.disable())
+            .requestCache(cache -> cache.disable())
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(org.springframework.security.config.http.SessionCreationPolicy.STATELESS))
+            .headers(headers -> headers.cacheControl(cacheControl -> cacheControl.disable()));
+        return http.build();
+    }
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
             .csrf(csrf-> csrf.disable())
             .authorizeHttpRequests(
                 auth -> auth
+                    // Async dispatches only finish a response (e.g. a timed-out event stream)
+                    // whose request was already authorized
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     // API authentication endpoints - no JWT required
                     .requestMatchers("/api/auth/**").permitAll()
                     // Static resources and common web assets - no authentication required
-                    .requestMatchers("/css/**", "/js/**", "/images/**", "/static/**", "/favicon.ico", "/webjars/**").permitAll()
+                    .requestMatchers(JwtAuthFilter.STATIC_PATHS).permitAll()
+                    // Health probes and Prometheus scraping
+                    .requestMatchers(JwtAuthFilter.ACTUATOR_PATHS).permitAll()
                     // Public pages - no authentication required
                     .requestMatchers("/", "/login", "/register", "/error", "/access-denied").permitAll()
                     // Protected pages - JWT authentication required
@@ -93,7 +133,7 @@ public class Securityconfig {
                     }
                 })
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class); 
 
         return http.build();
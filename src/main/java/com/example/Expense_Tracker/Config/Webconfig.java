@@ -1,23 +1,49 @@
 package com.example.Expense_Tracker.Config;
 
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
+import com.example.Expense_Tracker.Model.User;
 import com.example.Expense_Tracker.Repository.UserRepo;
+import com.example.Expense_Tracker.Security.BoundedPasswordEncoder;
+import com.example.Expense_Tracker.Service.UserDataVersions;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Component
 public class Webconfig implements WebMvcConfigurer {
 
+    // Asset directories under static/ that are served fingerprinted
+    private static final List<String> ASSET_DIRS = List.of("css", "js");
+
     private final UserRepo userRepo;
+    private final UserDataVersions dataVersions;
+    private final boolean cacheResolvedAssets;
 
-    public Webconfig(UserRepo userRepo) {
+    public Webconfig(UserRepo userRepo, UserDataVersions dataVersions,
+                     @Value("${spring.web.resources.chain.cache:true}") boolean cacheResolvedAssets) {
         this.userRepo = userRepo;
+        this.dataVersions = dataVersions;
+        this.cacheResolvedAssets = cacheResolvedAssets;
     }
 
     @Override
@@ -29,9 +55,41 @@ public class Webconfig implements WebMvcConfigurer {
                 .allowCredentials(true);
     }
 
+    // Everything under these paths is derived from the user's expenses, so the data version covers it.
+    // The event stream is not a cacheable representation
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersions))
+                .addPathPatterns("/api/expense/**", "/api/dashboard/**")
+                .excludePathPatterns("/api/dashboard/stream");
+    }
+
+    // CSS and JS under content-hashed URLs: @{/js/app.js} renders as /js/app-<md5>.js (through
+    // ResourceUrlEncodingFilter, on with spring.web.resources.chain.enabled), so a response can be
+    // cached for a year as immutable and a changed file simply gets a new URL. The .gz siblings
+    // written at build time are served as is to clients that accept gzip.
+    // Resolved URLs are cached unless spring.web.resources.chain.cache is off (devtools turns it off)
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String dir : ASSET_DIRS) {
+            registry.addResourceHandler("/" + dir + "/**")
+                    .addResourceLocations("classpath:/static/" + dir + "/")
+                    .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .resourceChain(cacheResolvedAssets)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"))
+                    .addTransformer(new CssLinkResourceTransformer());
+        }
+    }
+
+    // BCrypt on the bounded passwordHashExecutor. Stored hashes with a lower cost than
+    // bcrypt-strength are re-hashed on the next successful login (userDetailsPasswordService)
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hash-timeout:5s}") Duration timeout,
+                                           @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+                                           MeterRegistry meterRegistry){
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), executor, timeout, meterRegistry);
     }
     @Bean
     public UserDetailsService userDetailsService(){
@@ -40,5 +98,16 @@ public class Webconfig implements WebMvcConfigurer {
             .orElseThrow(()-> new UsernameNotFoundException(username + " not found"));
         
     }
+
+    // Called by DaoAuthenticationProvider with the re-encoded password when upgradeEncoding says so
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService(){
+        return (user, newPassword) -> {
+            User entity = userRepo.findByUsername(user.getUsername())
+                .orElseThrow(()-> new UsernameNotFoundException(user.getUsername() + " not found"));
+            entity.setPassword(newPassword);
+            return userRepo.save(entity);
+        };
+    }
     
 }
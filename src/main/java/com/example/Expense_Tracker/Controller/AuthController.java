@@ -15,7 +15,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.example.Expense_Tracker.DTO.AuthResponse;
 import com.example.Expense_Tracker.DTO.RegisterDTO;
 import com.example.Expense_Tracker.DTO.UserDto;
+import com.example.Expense_Tracker.Exception.PasswordHashingBusyException;
+import com.example.Expense_Tracker.Exception.PasswordHashingTimeoutException;
 import com.example.Expense_Tracker.Security.JwtService;
+import com.example.Expense_Tracker.Security.TokenRevocationService;
 import com.example.Expense_Tracker.Service.AuthService;
 
 @RestController
@@ -26,9 +29,11 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtService jwtService;
-    public AuthController(AuthService authService, JwtService jwtService) {
+    private final TokenRevocationService tokenRevocationService;
+    public AuthController(AuthService authService, JwtService jwtService, TokenRevocationService tokenRevocationService) {
         this.authService = authService;
         this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
 
@@ -65,6 +70,9 @@ public class AuthController {
             return ResponseEntity.ok()
                     .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
                     .body("Registration successful! Redirecting to dashboard...");
+        } catch (PasswordHashingBusyException | PasswordHashingTimeoutException e) {
+            logger.warn("Registration deferred for username: {}: {}", regdto.getUsername(), e.getMessage());
+            return hashingUnavailable(e);
         } catch (Exception e) {
             logger.error("Registration failed for username: {} with error: {}", regdto.getUsername(), e.getMessage(), e);
             
@@ -114,6 +122,9 @@ public class AuthController {
             return ResponseEntity.ok()
                     .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
                     .body("Login successful! Redirecting to dashboard...");
+        } catch (PasswordHashingBusyException | PasswordHashingTimeoutException e) {
+            logger.warn("Login deferred for username: {}: {}", userDto.getUsername(), e.getMessage());
+            return hashingUnavailable(e);
         } catch (Exception e) {
             logger.error("Login failed for username: {} with error: {}", userDto.getUsername(), e.getMessage(), e);
             
@@ -133,6 +144,14 @@ public class AuthController {
         }
     }
 
+    // Password hashing pool saturated: 429 when the queue is full, 503 when the hash timed out
+    private ResponseEntity<String> hashingUnavailable(RuntimeException e) {
+        int status = e instanceof PasswordHashingBusyException ? 429 : 503;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<String> logout(
         @CookieValue (
@@ -152,14 +171,14 @@ public class AuthController {
             token = authHeader.substring(7);
         }
 
-        // Blacklist token if available
+        // Revoke token if available (expired or invalid tokens throw and need no revocation)
         if(token != null && !token.trim().isEmpty()) {
             try {
-                jwtService.blackListToken(token);
-                logger.info("Token successfully blacklisted during logout");
+                tokenRevocationService.revoke(token, jwtService.verify(token).expiresAt());
+                logger.info("Token successfully revoked during logout");
             } catch (Exception e) {
-                logger.warn("Failed to blacklist token during logout: {}", e.getMessage());
-                // Continue with logout even if blacklisting fails
+                logger.warn("Failed to revoke token during logout: {}", e.getMessage());
+                // Continue with logout even if revocation fails
             }
         } else {
             logger.info("No token found during logout - user may have already been logged out");
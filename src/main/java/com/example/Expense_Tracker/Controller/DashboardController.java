@@ -1,18 +1,28 @@
 package com.example.Expense_Tracker.Controller;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.DTO.TimeSeries;
 import com.example.Expense_Tracker.Service.DashboardService;
+import com.example.Expense_Tracker.Service.DashboardStreams;
 import com.example.Expense_Tracker.Service.ExpenseService;
 
+// Only malformed parameters are answered here (400); busy and timeout errors reach
+// GlobalExceptionHandler, which answers them with 503
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
@@ -23,48 +33,104 @@ public class DashboardController {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private DashboardStreams dashboardStreams;
+
+    // Everything the dashboard page shows; from/to/category narrow statistics and categoryBreakdown as on /statistics
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getDashboardSummary(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String category) {
+        try {
+            Long userId = expenseService.getCurrentUserId();
+            Map<String, Object> summary = dashboardService.getSummary(userId, window(from, to, category));
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // All-time by default; from/to (inclusive yyyy-MM-dd days) and category narrow it
     @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getDashboardStatistics() {
+    public ResponseEntity<Map<String, Object>> getDashboardStatistics(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String category) {
         try {
-            String username = expenseService.getCurrentUser().getUsername();
-            Map<String, Object> statistics = dashboardService.getDashboardStatistics(username);
+            Long userId = expenseService.getCurrentUserId();
+            Map<String, Object> statistics = dashboardService.getStatistics(userId, window(from, to, category));
             return ResponseEntity.ok(statistics);
-        } catch (Exception e) {
+        } catch (IllegalArgumentException | DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/recent-expenses")
-    public ResponseEntity<List<Expense>> getRecentExpenses() {
+    public ResponseEntity<List<ExpenseView>> getRecentExpenses() {
+        Long userId = expenseService.getCurrentUserId();
+        List<ExpenseView> recentExpenses = dashboardService.getRecentExpenses(userId);
+        return ResponseEntity.ok(recentExpenses);
+    }
+
+    // Same optional window and category as /statistics
+    @GetMapping("/category-breakdown")
+    public ResponseEntity<List<Map<String, Object>>> getCategoryBreakdown(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String category) {
         try {
-            String username = expenseService.getCurrentUser().getUsername();
-            List<Expense> recentExpenses = dashboardService.getRecentExpenses(username);
-            return ResponseEntity.ok(recentExpenses);
-        } catch (Exception e) {
+            Long userId = expenseService.getCurrentUserId();
+            List<Map<String, Object>> categoryBreakdown = dashboardService.getCategoryBreakdown(userId, window(from, to, category));
+            return ResponseEntity.ok(categoryBreakdown);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @GetMapping("/category-breakdown")
-    public ResponseEntity<List<Map<String, Object>>> getCategoryBreakdown() {
+    @GetMapping("/time-series")
+    public ResponseEntity<TimeSeries> getTimeSeries(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "day") String granularity) {
         try {
-            String username = expenseService.getCurrentUser().getUsername();
-            List<Map<String, Object>> categoryBreakdown = dashboardService.getCategoryBreakdown(username);
-            return ResponseEntity.ok(categoryBreakdown);
-        } catch (Exception e) {
+            Long userId = expenseService.getCurrentUserId();
+            TimeSeries series = dashboardService.getTimeSeries(userId, LocalDate.parse(from), LocalDate.parse(to),
+                TimeSeries.Granularity.from(granularity));
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @GetMapping("/monthly-expenses")
-    public ResponseEntity<List<Map<String, Object>>> getMonthlyExpenses() {
+    /**
+     * Server-Sent Events stream of the user's committed expense changes: an "expense" event
+     * per change with the statistics and category breakdown for the given window (same
+     * parameters as /statistics), "resync" when the client fell behind and should reload.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUpdates(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String category) {
         try {
-            String username = expenseService.getCurrentUser().getUsername();
-            java.time.YearMonth currentMonth = java.time.YearMonth.now();
-            List<Map<String, Object>> monthlyExpenses = (List<Map<String, Object>>) dashboardService.getMonthlyExpenses(username, currentMonth);
-            return ResponseEntity.ok(monthlyExpenses);
-        } catch (Exception e) {
+            Long userId = expenseService.getCurrentUserId();
+            return ResponseEntity.ok(dashboardStreams.open(userId, window(from, to, category)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    // Monthly totals for the last 12 months, including the current one
+    @GetMapping("/monthly-expenses")
+    public ResponseEntity<TimeSeries> getMonthlyExpenses() {
+        Long userId = expenseService.getCurrentUserId();
+        return ResponseEntity.ok(dashboardService.getLastTwelveMonths(userId));
+    }
+
+    private static ExpenseFilter window(String from, String to, String category) {
+        return ExpenseFilter.of(null, category,
+            (from != null && !from.isEmpty()) ? LocalDate.parse(from) : null,
+            (to != null && !to.isEmpty()) ? LocalDate.parse(to) : null);
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.Expense_Tracker.Controller;
+import java.io.IOException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +18,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.Expense_Tracker.DTO.CursorPage;
 import com.example.Expense_Tracker.DTO.ExpenseDto;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.Exception.ErrorResponse;
+import com.example.Expense_Tracker.Exception.ExportBusyException;
 import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.Service.ExpenseExportService;
+import com.example.Expense_Tracker.Service.ExpenseImportService;
 import com.example.Expense_Tracker.Service.ExpenseService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import lombok.AllArgsConstructor;
 
 
@@ -28,6 +43,8 @@ import lombok.AllArgsConstructor;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseImportService expenseImportService;
 
     @PostMapping("/add")
     public ResponseEntity<Expense> AddExpense(@RequestBody ExpenseDto expense) {
@@ -40,10 +57,86 @@ public class ExpenseController {
         return ResponseEntity.ok(expense);
     }
 
+    // Newest first, a page at a time like /page; follow nextCursor for older expenses
     @GetMapping("/get")
-    public ResponseEntity<List<Expense>> getallExpenses() {
-        //TODO: implement logic to retrieve all expenses for the user
-        return ResponseEntity.ok(expenseService.getAllExpensesForCurrentUser());
+    public ResponseEntity<CursorPage<ExpenseView>> getallExpenses(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(expenseService.getExpensePage(expenseService.getCurrentUserId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Keyset-paginated expenses, newest first, optionally filtered. Pass nextCursor/previousCursor
+     * from the response (with the same filters) to move between pages.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ExpenseView>> getExpensePage(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              @RequestParam(required = false) String search,
+                                                              @RequestParam(required = false) String category,
+                                                              @RequestParam(required = false) String from,
+                                                              @RequestParam(required = false) String to) {
+        try {
+            ExpenseFilter filter = ExpenseFilter.of(search, category,
+                (from != null && !from.isEmpty()) ? LocalDate.parse(from) : null,
+                (to != null && !to.isEmpty()) ? LocalDate.parse(to) : null);
+            Long userId = expenseService.getCurrentUserId();
+            return ResponseEntity.ok(expenseService.getFilteredExpenses(userId, filter, cursor, size));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams the user's expenses, oldest first, as a CSV or NDJSON attachment. Takes the same
+     * optional filters as /page; without them the whole history is exported.
+     * The body type must stay StreamingResponseBody for MVC to stream it on an async thread.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(@RequestParam(defaultValue = "csv") String format,
+                                            @RequestParam(required = false) String search,
+                                            @RequestParam(required = false) String category,
+                                            @RequestParam(required = false) String from,
+                                            @RequestParam(required = false) String to) {
+        try {
+            ExpenseExportService.Format exportFormat = ExpenseExportService.Format.from(format);
+            ExpenseFilter filter = ExpenseFilter.of(search, category,
+                (from != null && !from.isEmpty()) ? LocalDate.parse(from) : null,
+                (to != null && !to.isEmpty()) ? LocalDate.parse(to) : null);
+            Long userId = expenseService.getCurrentUserId();
+            StreamingResponseBody body = expenseExportService.export(userId, filter, exportFormat);
+            String filename = "expenses-" + LocalDate.now() + "." + exportFormat.getExtension();
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ExportBusyException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        }
+    }
+
+    /**
+     * Imports expenses from a CSV file sent as the raw request body (e.g. text/csv), read as it
+     * arrives. Rows are validated one by one; the result lists the ones that were skipped.
+     * 400 only when the header row is unusable, before anything is imported.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importExpenses(HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(expenseImportService.importCsv(expenseService.getCurrentPrincipal(), request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(400, e.getMessage()));
+        } catch (IOException e) {
+            // Upload interrupted; chunks committed before it stay imported
+            return ResponseEntity.badRequest().body(new ErrorResponse(400, "The upload could not be read"));
+        }
     }
 
     @DeleteMapping("/{expenseId}")
@@ -54,9 +147,16 @@ public class ExpenseController {
     }
 
     @GetMapping("/CategoryFilter")
-    public ResponseEntity<List<Expense>> getExpensesByCategory(@RequestParam String category) {
-        List<Expense> expenses = expenseService.CategoryFilter(category);
-        return ResponseEntity.ok(expenses);
+    public ResponseEntity<CursorPage<ExpenseView>> getExpensesByCategory(@RequestParam String category,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "20") int size) {
+        try {
+            ExpenseFilter filter = ExpenseFilter.of(null, category, null, null);
+            Long userId = expenseService.getCurrentUserId();
+            return ResponseEntity.ok(expenseService.getFilteredExpenses(userId, filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/total")
@@ -65,23 +165,20 @@ public class ExpenseController {
     }
 
     @GetMapping("/week")
-    public ResponseEntity<List<Expense>> getExpensesInWeek() {
+    public ResponseEntity<List<ExpenseView>> getExpensesInWeek() {
         return ResponseEntity.ok(expenseService.getExpensesInWeek());
     }
 
     @GetMapping("/DateRange")
-    public ResponseEntity<List<Expense>> getExpenseByDateEntity(@RequestParam String startDate, @RequestParam String endDate){
+    public ResponseEntity<CursorPage<ExpenseView>> getExpenseByDateEntity(@RequestParam String startDate, @RequestParam String endDate,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "20") int size){
         try {
-            // Parse date strings and convert to LocalDateTime
-            LocalDate start = LocalDate.parse(startDate);
-            LocalDate end = LocalDate.parse(endDate);
-
-            // Convert to LocalDateTime (start of start date, end of end date)
-            LocalDateTime startDateTime = start.atStartOfDay();
-            LocalDateTime endDateTime = end.atTime(23, 59, 59, 999999999);
-
-            return ResponseEntity.ok(expenseService.getExpensesInDateRange(startDateTime, endDateTime));
-        } catch (Exception e) {
+            // Both days inclusive
+            ExpenseFilter filter = ExpenseFilter.of(null, null, LocalDate.parse(startDate), LocalDate.parse(endDate));
+            Long userId = expenseService.getCurrentUserId();
+            return ResponseEntity.ok(expenseService.getFilteredExpenses(userId, filter, cursor, size));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
     }
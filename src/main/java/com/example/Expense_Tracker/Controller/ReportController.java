@@ -0,0 +1,78 @@
+package com.example.Expense_Tracker.Controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Expense_Tracker.DTO.ReportJobStatus;
+import com.example.Expense_Tracker.DTO.ReportSpec;
+import com.example.Expense_Tracker.Exception.ReportQueueFullException;
+import com.example.Expense_Tracker.Model.ReportJob;
+import com.example.Expense_Tracker.Service.ExpenseService;
+import com.example.Expense_Tracker.Service.ReportService;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    // 202 while the report is being built, 200 when a finished artifact for the same spec is reused
+    @PostMapping
+    public ResponseEntity<?> submitReport(@RequestBody ReportSpec spec) {
+        try {
+            Long userId = expenseService.getCurrentUserId();
+            ReportJobStatus job = reportService.submit(userId, spec);
+            HttpStatus status = job.status() == ReportJob.Status.DONE ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ReportQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReportJobStatus>> getReports() {
+        Long userId = expenseService.getCurrentUserId();
+        return ResponseEntity.ok(reportService.getJobs(userId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobStatus> getReport(@PathVariable Long id) {
+        Long userId = expenseService.getCurrentUserId();
+        return ResponseEntity.of(reportService.getJob(userId, id));
+    }
+
+    // 404 once the artifact has expired, or when it was built on another replica
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable Long id) {
+        Long userId = expenseService.getCurrentUserId();
+        return reportService.getArtifact(userId, id)
+                .map(artifact -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(artifact.job().getFormat().getContentType()))
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment().filename(artifact.filename()).build().toString())
+                        .<Resource>body(new FileSystemResource(artifact.path())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -2,19 +2,17 @@ package com.example.Expense_Tracker.Controller;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.example.Expense_Tracker.DTO.CursorPage;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
 import com.example.Expense_Tracker.Model.Expense;
 import com.example.Expense_Tracker.Service.ExpenseService;
 
@@ -75,7 +73,7 @@ public class WebController {
      */
     @GetMapping("/expenses")
     public String expenses(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String category,
@@ -87,28 +85,24 @@ public class WebController {
             // Parse date filters (minimal controller logic)
             LocalDate fromDate = (dateFrom != null && !dateFrom.isEmpty()) ? LocalDate.parse(dateFrom) : null;
             LocalDate toDate = (dateTo != null && !dateTo.isEmpty()) ? LocalDate.parse(dateTo) : null;
+            ExpenseFilter filter = ExpenseFilter.of(search, category, fromDate, toDate);
             
-            // Create pageable and delegate filtering to service
-            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-            // Get current user from service (temporary - service should use SecurityContext)
-            String username = expenseService.getCurrentUser().getUsername();
-            Page<Expense> expensesPage = expenseService.getFilteredExpenses(username, search, category, fromDate, toDate, pageable);
+            // Current user id comes from the JWT principal, no lookup needed
+            Long userId = expenseService.getCurrentUserId();
+            CursorPage<ExpenseView> expensesPage = expenseService.getFilteredExpenses(userId, filter, cursor, size);
             
             // Add attributes to model (view preparation only)
-            model.addAttribute("expenses", expensesPage.getContent());
-            model.addAttribute("currentPage", page);
-            model.addAttribute("totalPages", expensesPage.getTotalPages());
-            model.addAttribute("totalElements", expensesPage.getTotalElements());
-            model.addAttribute("pageSize", size);
+            model.addAttribute("expenses", expensesPage.items());
+            model.addAttribute("nextCursor", expensesPage.nextCursor());
+            model.addAttribute("previousCursor", expensesPage.previousCursor());
+            model.addAttribute("totalElements", expenseService.countFilteredExpenses(userId, filter));
+            model.addAttribute("pageSize", expensesPage.size());
             model.addAttribute("search", search);
             model.addAttribute("category", category);
             model.addAttribute("dateFrom", dateFrom);
             model.addAttribute("dateTo", dateTo);
             
-            boolean hasFilters = (search != null && !search.isEmpty()) ||
-                               (category != null && !category.isEmpty()) ||
-                               (fromDate != null) || (toDate != null);
-            model.addAttribute("hasFilters", hasFilters);
+            model.addAttribute("hasFilters", !filter.isEmpty());
             model.addAttribute("title", "All Expenses");
             return "expenses";
             
@@ -140,10 +134,9 @@ public class WebController {
                 model.addAttribute("title", "Add New Expense");
             }
             
-            // Get recent expenses - use existing service method
-            List<Expense> recentExpenses = expenseService.getAllExpensesForCurrentUser().stream()
-                .limit(5)
-                .collect(Collectors.toList());
+            // Get recent expenses - first page only, limited in the database
+            Long userId = expenseService.getCurrentUserId();
+            List<ExpenseView> recentExpenses = expenseService.getExpensePage(userId, null, 5).items();
             model.addAttribute("recentExpenses", recentExpenses);
             
             return "add-expense";
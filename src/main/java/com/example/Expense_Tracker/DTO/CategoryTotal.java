@@ -0,0 +1,16 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.math.BigDecimal;
+
+import com.example.Expense_Tracker.Model.Expense.Category;
+
+/**
+ * Per-category SUM/COUNT row returned by the GROUP BY category queries.
+ */
+public record CategoryTotal(Category category, BigDecimal total, Long count) {
+
+    public CategoryTotal {
+        total = total != null ? total : BigDecimal.ZERO;
+        count = count != null ? count : 0L;
+    }
+}
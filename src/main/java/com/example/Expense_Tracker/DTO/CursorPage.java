@@ -0,0 +1,19 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ * nextCursor continues with older items, previousCursor goes back to newer ones;
+ * each is null when there is nothing in that direction.
+ */
+public record CursorPage<T>(List<T> items, int size, String nextCursor, String previousCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
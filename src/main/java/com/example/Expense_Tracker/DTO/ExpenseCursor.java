@@ -0,0 +1,51 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Seek position in a user's expense list, which is ordered by (createdAt DESC, id DESC).
+ * OLDER continues after the given expense, NEWER goes back to the expenses before it.
+ * Serialized as an opaque URL-safe token.
+ */
+public record ExpenseCursor(Direction direction, LocalDateTime createdAt, Long id) {
+
+    public enum Direction {
+        OLDER, NEWER
+    }
+
+    public static ExpenseCursor olderThan(ExpenseView expense) {
+        return new ExpenseCursor(Direction.OLDER, expense.createdAt(), expense.id());
+    }
+
+    public static ExpenseCursor newerThan(ExpenseView expense) {
+        return new ExpenseCursor(Direction.NEWER, expense.createdAt(), expense.id());
+    }
+
+    public String encode() {
+        String raw = direction.name() + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token a token produced by encode(), or null/blank for the first page
+     * @return the decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ExpenseCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new ExpenseCursor(Direction.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.Expense_Tracker.Service.ExpenseChangedEvent;
+
+/**
+ * One committed expense change as pushed on a dashboard stream: the changed expense and
+ * the stream's statistics and category breakdown after the change. The totals are null
+ * when they could not be computed; the client then reloads them itself.
+ */
+public record ExpenseDelta(ExpenseChangedEvent.Type type,
+                           ExpenseView expense,
+                           Map<String, Object> statistics,
+                           List<Map<String, Object>> categoryBreakdown) {
+}
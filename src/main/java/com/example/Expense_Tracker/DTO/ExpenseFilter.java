@@ -0,0 +1,31 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.time.LocalDate;
+
+import com.example.Expense_Tracker.Model.Expense.Category;
+
+/**
+ * Optional filters for a user's expense list. Null (or blank search) means "no constraint";
+ * from and to are inclusive calendar days.
+ */
+public record ExpenseFilter(String search, Category category, LocalDate from, LocalDate to) {
+
+    public static final ExpenseFilter NONE = new ExpenseFilter(null, null, null, null);
+
+    public ExpenseFilter {
+        search = (search == null || search.isBlank()) ? null : search.trim();
+    }
+
+    /**
+     * @param category a Category name, or null/empty for any category
+     * @throws IllegalArgumentException if the category name is unknown
+     */
+    public static ExpenseFilter of(String search, String category, LocalDate from, LocalDate to) {
+        Category parsed = (category == null || category.isEmpty()) ? null : Category.valueOf(category);
+        return new ExpenseFilter(search, parsed, from, to);
+    }
+
+    public boolean isEmpty() {
+        return search == null && category == null && from == null && to == null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * SUM/COUNT aggregate for a set of expenses, produced by a single query.
+ * The average is derived from the exact sum rather than the database's floating AVG.
+ */
+public record ExpenseTotals(BigDecimal total, Long count) {
+
+    // SUM over no rows is NULL
+    public ExpenseTotals {
+        total = total != null ? total : BigDecimal.ZERO;
+        count = count != null ? count : 0L;
+    }
+
+    public BigDecimal average() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.Expense_Tracker.Model.Expense.Category;
+
+/**
+ * Read model for expense lists: the expense columns only, selected directly by the
+ * list queries so no entity, persistence context entry or user row is loaded per item.
+ */
+public record ExpenseView(Long id, BigDecimal amount, String description, Category category, LocalDateTime createdAt) {
+}
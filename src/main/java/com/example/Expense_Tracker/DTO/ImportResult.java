@@ -0,0 +1,17 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. rowsRead counts the data rows read (blank lines excluded);
+ * each is either imported or failed. errors holds the first max-errors problems, each
+ * with the file line its row started on; errorsTruncated says there were more.
+ */
+public record ImportResult(long rowsRead, long imported, long failed,
+                           List<RowError> errors, boolean errorsTruncated,
+                           long elapsedMillis, long rowsPerSecond) {
+
+    // line is 0 for a problem that is not about a single row
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.time.LocalDateTime;
+
+import com.example.Expense_Tracker.Model.ReportJob;
+
+/**
+ * A report job as shown to its owner. downloadUrl is set once the artifact is ready;
+ * stale means the expenses changed after the report was built.
+ */
+public record ReportJobStatus(Long id, ReportSpec spec, ReportJob.Status status,
+                              long rowsDone, long rowsTotal, int percent,
+                              String error, boolean stale,
+                              LocalDateTime createdAt, LocalDateTime expiresAt, String downloadUrl) {
+
+    public static ReportJobStatus of(ReportJob job) {
+        boolean done = job.getStatus() == ReportJob.Status.DONE;
+        int percent = done ? 100
+            : job.getRowsTotal() == 0 ? 0
+            : (int) Math.min(99, job.getRowsDone() * 100 / job.getRowsTotal());
+        return new ReportJobStatus(job.getId(), ReportSpec.of(job), job.getStatus(),
+            job.getRowsDone(), job.getRowsTotal(), percent,
+            job.getError(), job.isStale(),
+            job.getCreatedAt(), job.getExpiresAt(),
+            done ? "/api/reports/" + job.getId() + "/download" : null);
+    }
+}
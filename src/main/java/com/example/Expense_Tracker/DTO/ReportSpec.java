@@ -0,0 +1,43 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.time.LocalDate;
+
+import com.example.Expense_Tracker.Model.Expense.Category;
+import com.example.Expense_Tracker.Model.ReportJob;
+
+/**
+ * What a report covers and how it is laid out. from and to are inclusive days and,
+ * like category, optional; grouping defaults to NONE (one row per expense).
+ */
+public record ReportSpec(LocalDate from, LocalDate to, Category category,
+                         ReportJob.Grouping grouping, ReportJob.Format format) {
+
+    public ReportSpec {
+        grouping = grouping != null ? grouping : ReportJob.Grouping.NONE;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the format is missing or the range is reversed
+     */
+    public void validate() {
+        if (format == null) {
+            throw new IllegalArgumentException("Report format is required");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end is before its start");
+        }
+    }
+
+    public ExpenseFilter filter() {
+        return new ExpenseFilter(null, category, from, to);
+    }
+
+    // Identifies the artifact: equal keys for the same user produce the same report
+    public String key() {
+        return format + ":" + grouping + ":" + from + ":" + to + ":" + category;
+    }
+
+    public static ReportSpec of(ReportJob job) {
+        return new ReportSpec(job.getPeriodFrom(), job.getPeriodTo(), job.getCategory(), job.getGrouping(), job.getFormat());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.Expense_Tracker.DTO;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Spend over time as parallel arrays: labels[i] is the start date of bucket i,
+ * totals[i] and counts[i] its sum and number of expenses. Empty buckets are zero.
+ */
+public record TimeSeries(Granularity granularity, LocalDate from, LocalDate to,
+                         List<String> labels, List<BigDecimal> totals, List<Long> counts) {
+
+    public enum Granularity {
+        // Weeks are truncated to days in the database and folded into Monday-based weeks by align(),
+        // since databases disagree on which day date_trunc('week') starts on
+        DAY("day"), WEEK("day"), MONTH("month");
+
+        private final String truncUnit;
+        Granularity(String truncUnit) {
+            this.truncUnit = truncUnit;
+        }
+
+        // Unit name understood by the database's date_trunc
+        public String getTruncUnit() {
+            return truncUnit;
+        }
+
+        // Start of the bucket containing the date (weeks start on Monday)
+        public LocalDate align(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDate next(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+
+        public static Granularity from(String value) {
+            return Granularity.valueOf(value.trim().toUpperCase());
+        }
+    }
+}
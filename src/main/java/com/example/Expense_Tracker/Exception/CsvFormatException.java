@@ -0,0 +1,8 @@
+package com.example.Expense_Tracker.Exception;
+
+// The uploaded file stopped being readable as CSV; rows before it may already be imported
+public class CsvFormatException extends RuntimeException {
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Expense_Tracker.Exception;
+
+// No part of the dashboard summary loaded in time (database busy or timed out); retry shortly (503)
+public class DashboardUnavailableException extends RuntimeException {
+    public DashboardUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.Expense_Tracker.Exception;
+
+import java.sql.SQLTransientConnectionException;
+
+// No database connection could be admitted in time; the request should be retried (503).
+// A SQLException because it is raised from DataSource.getConnection
+public class DatabaseBusyException extends SQLTransientConnectionException {
+    public DatabaseBusyException(String message) {
+        super(message, "08001");
+    }
+}
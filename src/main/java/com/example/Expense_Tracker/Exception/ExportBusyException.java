@@ -0,0 +1,8 @@
+package com.example.Expense_Tracker.Exception;
+
+// All export slots are taken; the client should retry shortly (429)
+public class ExportBusyException extends RuntimeException {
+    public ExportBusyException(String message) {
+        super(message);
+    }
+}
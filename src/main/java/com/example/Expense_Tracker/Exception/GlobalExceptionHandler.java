@@ -1,8 +1,14 @@
 package com.example.Expense_Tracker.Exception;
 
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -100,6 +106,41 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    // Connection refused by the database admission limiter; JPA and the transaction
+    // manager wrap it, so look at the root cause
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseBusy(
+            Exception ex, WebRequest request) {
+
+        if (!(NestedExceptionUtils.getMostSpecificCause(ex) instanceof DatabaseBusyException)) {
+            return handleGlobalException(ex, request);
+        }
+
+        return serviceBusy(request);
+    }
+
+    // A query cancelled at its transaction's timeout, or a dashboard summary none of whose
+    // parts finished in time: the database is overloaded, so the request should be retried
+    @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class, DashboardUnavailableException.class})
+    public ResponseEntity<ErrorResponse> handleTimeout(
+            Exception ex, WebRequest request) {
+
+        return serviceBusy(request);
+    }
+
+    private ResponseEntity<ErrorResponse> serviceBusy(WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "The service is busy, please try again shortly",
+                LocalDateTime.now(),
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(
             Exception ex, WebRequest request) {
@@ -0,0 +1,8 @@
+package com.example.Expense_Tracker.Exception;
+
+// The password hashing queue is full; the client should retry shortly (429)
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
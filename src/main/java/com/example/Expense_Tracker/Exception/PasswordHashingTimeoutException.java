@@ -0,0 +1,12 @@
+package com.example.Expense_Tracker.Exception;
+
+// A queued password hash did not complete in time (503)
+public class PasswordHashingTimeoutException extends RuntimeException {
+    public PasswordHashingTimeoutException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Expense_Tracker.Exception;
+
+// The report workers are saturated or the user has too many reports in progress (429)
+public class ReportQueueFullException extends RuntimeException {
+    public ReportQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.Expense_Tracker.Import;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.Expense_Tracker.Exception.CsvFormatException;
+
+/**
+ * Streaming RFC 4180 reader for UTF-8 CSV, one record at a time, so a file of any length
+ * is read in constant memory. Quoted fields may contain commas, doubled quotes and line
+ * breaks; CRLF, LF and CR all end a record, and a leading byte order mark is skipped.
+ * A field longer than maxFieldLength characters (a runaway quote, a binary upload)
+ * stops the read with a CsvFormatException.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private final StringBuilder field = new StringBuilder();
+    // Line the reader is on, and the line the last returned record started on
+    private int line = 1;
+    private int recordLine;
+    private int lookahead = -2;
+
+    public CsvReader(InputStream in, int maxFieldLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Reads the next record.
+     * @return the record's fields, or null at the end of the input
+     * @throws CsvFormatException if a field is longer than maxFieldLength
+     */
+    public List<String> next() throws IOException {
+        if (lookahead == -2) {
+            lookahead = reader.read();
+            if (lookahead == BYTE_ORDER_MARK) {
+                lookahead = reader.read();
+            }
+        }
+        if (lookahead == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) {
+                    // Unterminated quote: keep what was read
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    if (lookahead == '"') {
+                        read();
+                        append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append((char) c);
+            }
+        }
+    }
+
+    // Line the record last returned by next() started on, 1-based
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c = lookahead;
+        if (c != -1) {
+            lookahead = reader.read();
+        }
+        if (c == '\n' || (c == '\r' && lookahead != '\n')) {
+            line++;
+        }
+        if (c == '\r' && lookahead == '\n') {
+            // CRLF counts once; outside quotes the record ends at the CR and the LF is dropped here
+            lookahead = reader.read();
+            line++;
+            return '\n';
+        }
+        return c;
+    }
+
+    private void append(char c) {
+        if (field.length() >= maxFieldLength) {
+            throw new CsvFormatException("Line " + recordLine + ": field longer than " + maxFieldLength + " characters");
+        }
+        field.append(c);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.Expense_Tracker.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.Expense_Tracker.DTO.ExpenseDto;
+import com.example.Expense_Tracker.Model.Expense;
+
+/**
+ * Positions of the expense columns in an import file's header row (-1 when absent), and the
+ * conversion of a data row into an ExpenseDto with the checks the add form makes.
+ * Reads what the CSV export writes: Id is ignored and the formula guard quote is removed.
+ */
+public record ExpenseCsvColumns(int date, int description, int category, int amount) {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    // numeric(38, 2)
+    private static final int MAX_AMOUNT_DIGITS = 36;
+
+    private static final Map<String, String> ALIASES = Map.of(
+        "date", "date", "createdat", "date",
+        "description", "description",
+        "category", "category",
+        "amount", "amount");
+
+    /**
+     * Finds the columns by name, in any order and case, ignoring spaces and underscores.
+     * Amount, Description and Category are required; Date (or CreatedAt) is optional.
+     * @param header the first record of the file, null for an empty file
+     * @throws IllegalArgumentException if the file is empty or a required column is missing
+     */
+    public static ExpenseCsvColumns of(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+            String column = ALIASES.get(name);
+            if (column != null) {
+                positions.putIfAbsent(column, i);
+            }
+        }
+        for (String required : List.of("amount", "description", "category")) {
+            if (!positions.containsKey(required)) {
+                throw new IllegalArgumentException("Header row has no " + required + " column");
+            }
+        }
+        return new ExpenseCsvColumns(positions.getOrDefault("date", -1), positions.get("description"),
+            positions.get("category"), positions.get("amount"));
+    }
+
+    /**
+     * Validates a data row the way it would be entered in the form.
+     * @throws IllegalArgumentException naming the first problem with the row
+     */
+    public ExpenseDto toExpense(List<String> record) {
+        return ExpenseDto.builder()
+            .amount(parseAmount(field(record, amount)))
+            .description(parseDescription(field(record, description)))
+            .category(parseCategory(field(record, category)))
+            .createdAt(parseDate(date >= 0 ? field(record, date) : ""))
+            .build();
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Amount is missing");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Amount '" + value + "' is not a number");
+        }
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Amount '" + value + "' has more than two decimals");
+        }
+        if (amount.precision() - amount.scale() > MAX_AMOUNT_DIGITS) {
+            throw new IllegalArgumentException("Amount '" + value + "' is too large");
+        }
+        return amount.setScale(2);
+    }
+
+    private static String parseDescription(String value) {
+        // The export guards text a spreadsheet would run as a formula with a leading quote
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@\t\r".indexOf(value.charAt(1)) >= 0) {
+            value = value.substring(1);
+        }
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Description is missing");
+        }
+        if (value.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static Expense.Category parseCategory(String value) {
+        for (Expense.Category category : Expense.Category.values()) {
+            if (category.name().equalsIgnoreCase(value) || category.getDisplayName().equalsIgnoreCase(value)) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException(value.isEmpty() ? "Category is missing" : "Unknown category '" + value + "'");
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value.isEmpty()) {
+            return LocalDateTime.now();
+        }
+        try {
+            return value.length() > 10 ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date '" + value + "' is not an ISO date (2024-01-31) or date-time");
+        }
+    }
+}
@@ -3,15 +3,19 @@ package com.example.Expense_Tracker.Model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,8 +32,12 @@ import lombok.Setter;
 @Builder
 public class Expense {
 
+    // Ids come from a sequence 50 at a time, so inserts can be JDBC-batched
+    // (IDENTITY needs a round trip per insert to learn the id). Must equal the sequence's INCREMENT BY
+    // (db.migration.V5__Pooled_expense_ids); changing it takes a migration that alters the sequence
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+    @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -45,8 +53,10 @@ public class Expense {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    // Lazy: expense queries only need user_id, and the user (password hash included) is never serialized
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
     private User user;
 
     public enum Category {
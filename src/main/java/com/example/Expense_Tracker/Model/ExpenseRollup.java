@@ -0,0 +1,37 @@
+package com.example.Expense_Tracker.Model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pre-aggregated spend per user, month and category.
+ * Kept in step with the expenses table by ExpenseService so the dashboard
+ * reads a handful of rows instead of the full ledger.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "expense_rollups")
+@Builder
+public class ExpenseRollup {
+
+    @EmbeddedId
+    private ExpenseRollupId id;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+}
@@ -0,0 +1,36 @@
+package com.example.Expense_Tracker.Model;
+
+import java.io.Serializable;
+
+import com.example.Expense_Tracker.Model.Expense.Category;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Natural key of a rollup row: one user, one calendar month, one category.
+ */
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpenseRollupId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "period_year", nullable = false)
+    private int periodYear;
+
+    @Column(name = "period_month", nullable = false)
+    private int periodMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Category category;
+}
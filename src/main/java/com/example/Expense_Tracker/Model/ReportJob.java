@@ -0,0 +1,123 @@
+package com.example.Expense_Tracker.Model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A report requested by a user and built in the background by ReportService.
+ * Progress and completion are written with targeted updates (ReportJobRepo), so a
+ * concurrent stale flag set by an expense change is never overwritten.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "report_jobs")
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    // ReportSpec.key(): jobs with the same key produce the same artifact
+    @Column(name = "spec_key", nullable = false, updatable = false)
+    private String specKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "group_by", nullable = false, updatable = false)
+    private Grouping grouping;
+
+    @Column(name = "period_from", updatable = false)
+    private LocalDate periodFrom;
+
+    @Column(name = "period_to", updatable = false)
+    private LocalDate periodTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private Expense.Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "rows_total", nullable = false)
+    private long rowsTotal;
+
+    @Column(name = "rows_done", nullable = false)
+    private long rowsDone;
+
+    @Column(name = "artifact_path", length = 1024)
+    private String artifactPath;
+
+    @Column(name = "artifact_size")
+    private Long artifactSize;
+
+    @Column(length = 1024)
+    private String error;
+
+    @Column(nullable = false)
+    private boolean stale;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+        PDF("application/pdf", "pdf");
+
+        private final String contentType;
+        private final String extension;
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    // NONE lists every expense; the others total the expenses per category or per period
+    public enum Grouping {
+        NONE, CATEGORY, DAY, WEEK, MONTH
+    }
+}
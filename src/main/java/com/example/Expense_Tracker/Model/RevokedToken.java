@@ -0,0 +1,37 @@
+package com.example.Expense_Tracker.Model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A JWT revoked by logout, identified by the SHA-256 digest of the token.
+ * The row is only needed until the token expires.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "revoked_tokens")
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_digest", length = 64)
+    private String tokenDigest;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+}
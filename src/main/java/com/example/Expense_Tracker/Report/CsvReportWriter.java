@@ -0,0 +1,56 @@
+package com.example.Expense_Tracker.Report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// RFC 4180 CSV in UTF-8
+class CsvReportWriter implements ReportWriter {
+
+    private final Writer writer;
+
+    CsvReportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void header(List<String> columns) throws IOException {
+        writeLine(columns);
+    }
+
+    @Override
+    public void row(List<?> cells) throws IOException {
+        writeLine(cells);
+    }
+
+    private void writeLine(List<?> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object cell = cells.get(i);
+            writer.write(cell instanceof String text ? quote(text) : ReportWriter.text(cell));
+        }
+        writer.write("\r\n");
+    }
+
+    // Text that a spreadsheet would read as a formula is prefixed with a quote
+    private static String quote(String text) {
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.Expense_Tracker.Report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+/**
+ * A titled PDF table, repeating the header on every page. The table is marked
+ * incomplete and added to the document every FLUSH_ROWS rows, which lays out and
+ * releases the rows added so far; only the last partial page is kept in memory.
+ */
+class PdfReportWriter implements ReportWriter {
+
+    private static final int FLUSH_ROWS = 200;
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font CELL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9);
+
+    private final Document document;
+    private PdfPTable table;
+    private int unflushedRows;
+
+    PdfReportWriter(OutputStream out, String title) throws IOException {
+        this.document = new Document(PageSize.A4, 36, 36, 36, 36);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+            Paragraph heading = new Paragraph(title, TITLE_FONT);
+            heading.setSpacingAfter(12);
+            document.add(heading);
+        } catch (DocumentException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void header(List<String> columns) {
+        table = new PdfPTable(columns.size());
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        for (String column : columns) {
+            PdfPCell cell = new PdfPCell(new Phrase(column, HEADER_FONT));
+            cell.setGrayFill(0.9f);
+            table.addCell(cell);
+        }
+    }
+
+    @Override
+    public void row(List<?> cells) throws IOException {
+        for (Object value : cells) {
+            PdfPCell cell = new PdfPCell(new Phrase(ReportWriter.text(value), CELL_FONT));
+            if (value instanceof Number) {
+                cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+            }
+            table.addCell(cell);
+        }
+        if (++unflushedRows >= FLUSH_ROWS) {
+            add(table);
+            unflushedRows = 0;
+        }
+    }
+
+    private void add(Element element) throws IOException {
+        try {
+            document.add(element);
+        } catch (DocumentException e) {
+            throw new IOException(e);
+        }
+    }
+
+    // Also closes the output stream
+    @Override
+    public void close() throws IOException {
+        try {
+            if (table != null) {
+                table.setComplete(true);
+                add(table);
+            }
+        } finally {
+            document.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Expense_Tracker.Report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.example.Expense_Tracker.Model.ReportJob;
+
+/**
+ * Writes a report as one table: a header, then rows in order. Each row is written out as
+ * it arrives, so memory does not grow with the size of the report.
+ * Cells are Strings, LocalDates, Numbers (BigDecimal amounts, Long counts) or null.
+ * Closing the writer finishes the document and closes the stream.
+ */
+public interface ReportWriter extends Closeable {
+
+    void header(List<String> columns) throws IOException;
+
+    void row(List<?> cells) throws IOException;
+
+    /**
+     * @param format the artifact format
+     * @param out where the artifact is written; owned by the writer from here on
+     * @param title shown above the table by formats that have a place for it
+     */
+    static ReportWriter open(ReportJob.Format format, OutputStream out, String title) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReportWriter(out);
+            case XLSX -> new XlsxReportWriter(out, title);
+            case PDF -> new PdfReportWriter(out, title);
+        };
+    }
+
+    // Display text of a cell; amounts keep their scale and never use exponent notation
+    static String text(Object cell) {
+        if (cell == null) {
+            return "";
+        }
+        if (cell instanceof BigDecimal amount) {
+            return amount.toPlainString();
+        }
+        return cell.toString();
+    }
+}
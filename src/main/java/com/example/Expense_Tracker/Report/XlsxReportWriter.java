@@ -0,0 +1,164 @@
+package com.example.Expense_Tracker.Report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal Office Open XML workbook with a single sheet. The fixed package parts are
+ * written first and the sheet last, so its rows go straight into the zip stream
+ * instead of being held in memory the way a workbook object model would.
+ * Text is written as inline strings, dates as serial numbers with a date format.
+ */
+class XlsxReportWriter implements ReportWriter {
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    // cellXfs indexes in STYLES
+    private static final int STYLE_HEADER = 1;
+    private static final int STYLE_DATE = 2;
+
+    // Day zero of the 1900 date system, as spreadsheets count it
+    private static final LocalDate EPOCH = LocalDate.of(1899, 12, 30);
+
+    private static final String CONTENT_TYPES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+        <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+        <Default Extension="xml" ContentType="application/xml"/>\
+        <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+        <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+        <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>\
+        </Types>""";
+
+    private static final String ROOT_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+        </Relationships>""";
+
+    private static final String WORKBOOK_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+        <Relationship Id="rId2" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>\
+        </Relationships>""";
+
+    private static final String STYLES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <styleSheet xmlns="%s">\
+        <fonts count="2"><font><sz val="11"/><name val="Calibri"/></font><font><b/><sz val="11"/><name val="Calibri"/></font></fonts>\
+        <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+        <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+        <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+        <cellXfs count="3"><xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+        <xf numFmtId="0" fontId="1" fillId="0" borderId="0" xfId="0" applyFont="1"/>\
+        <xf numFmtId="14" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/></cellXfs>\
+        </styleSheet>""".formatted(MAIN_NS);
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+
+    XlsxReportWriter(OutputStream out, String title) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        part("[Content_Types].xml", CONTENT_TYPES);
+        part("_rels/.rels", ROOT_RELS);
+        part("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+        part("xl/styles.xml", STYLES);
+        part("xl/workbook.xml", """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="%s" xmlns:r="%s"><sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets></workbook>"""
+            .formatted(MAIN_NS, REL_NS, escape(sheetName(title))));
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+    }
+
+    private void part(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    @Override
+    public void header(List<String> columns) throws IOException {
+        writer.write("<row>");
+        for (String column : columns) {
+            text(column, STYLE_HEADER);
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    public void row(List<?> cells) throws IOException {
+        writer.write("<row>");
+        for (Object cell : cells) {
+            if (cell == null) {
+                writer.write("<c/>");
+            } else if (cell instanceof LocalDate date) {
+                writer.write("<c s=\"" + STYLE_DATE + "\"><v>" + ChronoUnit.DAYS.between(EPOCH, date) + "</v></c>");
+            } else if (cell instanceof Number) {
+                writer.write("<c><v>" + ReportWriter.text(cell) + "</v></c>");
+            } else {
+                text(cell.toString(), 0);
+            }
+        }
+        writer.write("</row>");
+    }
+
+    private void text(String value, int style) throws IOException {
+        writer.write(style == 0 ? "<c t=\"inlineStr\">" : "<c t=\"inlineStr\" s=\"" + style + "\">");
+        writer.write("<is><t xml:space=\"preserve\">");
+        writer.write(escape(value));
+        writer.write("</t></is></c>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+        zip.close();
+    }
+
+    // Sheet names are at most 31 characters and may not contain []:*?/\
+    private static String sheetName(String title) {
+        String name = title == null ? "" : title.replaceAll("[\\[\\]:*?/\\\\]", " ").trim();
+        if (name.isEmpty()) {
+            return "Report";
+        }
+        return name.length() > 31 ? name.substring(0, 31) : name;
+    }
+
+    // XML text, without the control characters XML 1.0 cannot represent
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
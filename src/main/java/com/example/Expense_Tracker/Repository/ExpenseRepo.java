@@ -1,50 +1,88 @@
 package com.example.Expense_Tracker.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.Expense_Tracker.DTO.CategoryTotal;
+import com.example.Expense_Tracker.DTO.ExpenseTotals;
+import com.example.Expense_Tracker.DTO.ExpenseView;
 import com.example.Expense_Tracker.Model.Expense;
 import com.example.Expense_Tracker.Model.Expense.Category;
 
 @Repository
-public interface ExpenseRepo extends JpaRepository<Expense, Long> {
+// Filtered and keyset-paginated lists are built from ExpenseSpecifications
+// List queries return ExpenseView projections; entities are only loaded to be changed
+public interface ExpenseRepo extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense>, ExpenseViewQueries {
+
+    // Selects the ExpenseView columns; written out in JPQL because derived queries on userId join users
+    String SELECT_VIEW = "SELECT new com.example.Expense_Tracker.DTO.ExpenseView(e.id, e.amount, e.description, e.category, e.createdAt) "
+        + "FROM Expense e ";
     
-    // Find all expenses for a specific user
-    List<Expense> findByUserUsernameOrderByCreatedAtDesc(String username);
     Optional<Expense> findById(Long id);
     // Find expense by ID and user (for security - user can only access their own expenses)
-    Optional<Expense> findByIdAndUserUsername(Long id, String username);
-    
-    // Find expenses by category for a specific user
-    List<Expense> findByUserUsernameAndCategoryOrderByCreatedAtDesc(String username, Category category);
+    Optional<Expense> findByIdAndUserId(Long id, Long userId);
     
+    // Queries are keyed by the user id from the token, so they read expenses.user_id without joining users
     // Custom query to get total expense amount for a user
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.username = :username")
-    Double getTotalExpenseByUsername(@Param("username") String username);
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId")
+    Double getTotalExpenseByUserId(@Param("userId") Long userId);
     
     //Getting expenses in date week for a user
-    @Query("SELECT e FROM Expense e WHERE e.user.username = :username AND e.createdAt >= :days")
-    List<Expense> getExpensesInDateWeek(@Param("username") String username, @Param("days") LocalDateTime days);
+    @Query(SELECT_VIEW + "WHERE e.user.id = :userId AND e.createdAt >= :days")
+    List<ExpenseView> getExpensesInDateWeek(@Param("userId") Long userId, @Param("days") LocalDateTime days);
 
     
 
     //getting expenses in a date range for a user
-    @Query("SELECT e FROM Expense e WHERE e.user.username = :username AND e.createdAt BETWEEN :startDate AND :endDate")
-    List<Expense> getExpensesInDateRange(@Param("username") String username, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    @Query(SELECT_VIEW + "WHERE e.user.id = :userId AND e.createdAt BETWEEN :startDate AND :endDate")
+    List<ExpenseView> getExpensesInDateRange(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
 
     // Custom query to get total expense amount by category for a user
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.username = :username AND e.category = :category")
-    Double getTotalExpenseByCategoryAndUsername(@Param("username") String username, @Param("category") Category category);
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND e.category = :category")
+    Double getTotalExpenseByCategoryAndUserId(@Param("userId") Long userId, @Param("category") Category category);
     
     // Count total expenses for a user
-    long countByUserUsername(String username);
+    long countByUserId(Long userId);
+
+    // Per-bucket totals of a user's expenses in [from, to), bucketed by the database with date_trunc
+    // unit must be one of TimeSeries.Granularity's trunc units; empty buckets are not returned.
+    // The unit is spelled out as literals since not every database accepts a bound date_trunc field
+    @Query(value = "SELECT t.bucket AS bucket, SUM(t.amount) AS total, COUNT(*) AS expenseCount FROM ("
+        + "SELECT CASE :unit WHEN 'day' THEN date_trunc('day', e.created_at) ELSE date_trunc('month', e.created_at) END AS bucket, "
+        + "e.amount AS amount FROM expenses e "
+        + "WHERE e.user_id = :userId AND e.created_at >= :from AND e.created_at < :to) t "
+        + "GROUP BY t.bucket ORDER BY t.bucket", nativeQuery = true)
+    List<TimeBucketTotal> sumByTimeBucket(@Param("userId") Long userId, @Param("unit") String unit,
+                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface TimeBucketTotal {
+        LocalDateTime getBucket();
+        BigDecimal getTotal();
+        Long getExpenseCount();
+    }
+
+    // Monthly per-category totals for a user, used to rebuild the rollup table
+    @Query("SELECT YEAR(e.createdAt) AS periodYear, MONTH(e.createdAt) AS periodMonth, e.category AS category, "
+        + "SUM(e.amount) AS total, COUNT(e) AS expenseCount FROM Expense e WHERE e.user.id = :userId "
+        + "GROUP BY YEAR(e.createdAt), MONTH(e.createdAt), e.category")
+    List<MonthlyCategoryTotal> aggregateMonthlyByCategory(@Param("userId") Long userId);
+
+    interface MonthlyCategoryTotal {
+        Integer getPeriodYear();
+        Integer getPeriodMonth();
+        Category getCategory();
+        BigDecimal getTotal();
+        Long getExpenseCount();
+    }
     
     // Delete all expenses for a user (useful for user deletion)
     //void deleteByUserUsername(String username);
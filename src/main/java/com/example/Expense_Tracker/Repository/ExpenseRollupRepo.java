@@ -0,0 +1,53 @@
+package com.example.Expense_Tracker.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.Expense_Tracker.DTO.CategoryTotal;
+import com.example.Expense_Tracker.DTO.ExpenseTotals;
+import com.example.Expense_Tracker.Model.ExpenseRollup;
+import com.example.Expense_Tracker.Model.ExpenseRollupId;
+
+@Repository
+public interface ExpenseRollupRepo extends JpaRepository<ExpenseRollup, ExpenseRollupId> {
+
+    // Adds a delta to an existing rollup row, returns 0 when the row does not exist yet
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ExpenseRollup r SET r.total = r.total + :amount, r.expenseCount = r.expenseCount + :count WHERE r.id = :id")
+    int applyDelta(@Param("id") ExpenseRollupId id, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    // Creates the rollup row with the delta, returns 0 when the row already exists (possibly inserted
+    // by a concurrent transaction, which this waits for) instead of failing on the primary key
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO expense_rollups (user_id, period_year, period_month, category, total, expense_count) "
+        + "VALUES (:userId, :year, :month, :category, :amount, :count) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month,
+                       @Param("category") String category, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    // All-time SUM and COUNT for a user
+    @Query("SELECT new com.example.Expense_Tracker.DTO.ExpenseTotals(SUM(r.total), SUM(r.expenseCount)) FROM ExpenseRollup r "
+        + "WHERE r.id.userId = :userId")
+    ExpenseTotals summarizeByUserId(@Param("userId") Long userId);
+
+    // SUM and COUNT of a single month for a user
+    @Query("SELECT new com.example.Expense_Tracker.DTO.ExpenseTotals(SUM(r.total), SUM(r.expenseCount)) FROM ExpenseRollup r "
+        + "WHERE r.id.userId = :userId "
+        + "AND r.id.periodYear = :year AND r.id.periodMonth = :month")
+    ExpenseTotals summarizeByUserIdAndPeriod(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month);
+
+    // All-time per-category SUM and COUNT for a user, empty categories left out
+    @Query("SELECT new com.example.Expense_Tracker.DTO.CategoryTotal(r.id.category, SUM(r.total), SUM(r.expenseCount)) FROM ExpenseRollup r "
+        + "WHERE r.id.userId = :userId "
+        + "GROUP BY r.id.category HAVING SUM(r.expenseCount) > 0")
+    List<CategoryTotal> sumByCategoryForUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseRollup r WHERE r.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,91 @@
+package com.example.Expense_Tracker.Repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.Expense_Tracker.DTO.ExpenseCursor;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.Model.Expense;
+
+/**
+ * Predicates for ExpenseRepo's Specification queries. Every query starts from
+ * belongsTo so the (user, createdAt) index bounds the scan; the other
+ * predicates only narrow that range.
+ */
+public final class ExpenseSpecifications {
+
+    // Newest first; id breaks ties between equal timestamps so cursors are stable
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    public static final Sort OLDEST_FIRST = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+
+    private ExpenseSpecifications() {
+    }
+
+    // Compares the user_id foreign key directly; no join to users
+    public static Specification<Expense> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /**
+     * A user's expenses matching every non-null part of the filter.
+     */
+    public static Specification<Expense> matching(Long userId, ExpenseFilter filter) {
+        Specification<Expense> spec = belongsTo(userId);
+        if (filter.search() != null) {
+            spec = spec.and(descriptionContains(filter.search()));
+        }
+        if (filter.category() != null) {
+            spec = spec.and(hasCategory(filter.category()));
+        }
+        if (filter.from() != null) {
+            spec = spec.and(createdOnOrAfter(filter.from().atStartOfDay()));
+        }
+        if (filter.to() != null) {
+            // to is an inclusive day, so compare against the start of the next one
+            spec = spec.and(createdBefore(filter.to().plusDays(1).atStartOfDay()));
+        }
+        return spec;
+    }
+
+    // Case-insensitive substring match, with LIKE wildcards in the search text taken literally
+    public static Specification<Expense> descriptionContains(String search) {
+        String pattern = "%" + search.toLowerCase()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("description")), pattern, '\\');
+    }
+
+    public static Specification<Expense> hasCategory(Expense.Category category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Expense> createdOnOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Expense> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    // Strictly after the cursor in NEWEST_FIRST order. The redundant createdAt <= bound gives the
+    // (user_id, created_at, id) index a range condition; the OR alone cannot be used as one
+    public static Specification<Expense> olderThan(ExpenseCursor cursor) {
+        return (root, query, cb) -> cb.and(
+            cb.lessThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+            cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.lessThan(root.get("id"), cursor.id())));
+    }
+
+    // Strictly before the cursor in NEWEST_FIRST order, bounded the same way
+    public static Specification<Expense> newerThan(ExpenseCursor cursor) {
+        return (root, query, cb) -> cb.and(
+            cb.greaterThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+            cb.or(
+                cb.greaterThan(root.get("createdAt"), cursor.createdAt()),
+                cb.greaterThan(root.get("id"), cursor.id())));
+    }
+}
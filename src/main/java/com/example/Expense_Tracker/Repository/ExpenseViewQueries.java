@@ -0,0 +1,47 @@
+package com.example.Expense_Tracker.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.Expense_Tracker.DTO.CategoryTotal;
+import com.example.Expense_Tracker.DTO.ExpenseTotals;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.Model.Expense;
+
+// Specification queries that select ExpenseView rows or aggregates instead of Expense entities
+public interface ExpenseViewQueries {
+
+    /**
+     * @param spec the rows to select
+     * @param sort order of the result
+     * @param limit maximum number of rows
+     * @return the matching expenses as views, in the given order
+     */
+    List<ExpenseView> findViews(Specification<Expense> spec, Sort sort, int limit);
+
+    /**
+     * Streams the rows from an open database cursor instead of loading them all.
+     * Must be consumed inside a transaction (PostgreSQL only honours the fetch size with
+     * auto-commit off) and closed to release the cursor.
+     * @param spec the rows to select
+     * @param sort order of the result
+     * @param fetchSize rows fetched from the database per round trip
+     * @return the matching expenses as views, in the given order
+     */
+    Stream<ExpenseView> streamViews(Specification<Expense> spec, Sort sort, int fetchSize);
+
+    /**
+     * @param spec the rows to aggregate
+     * @return SUM and COUNT of the matching expenses in one round trip
+     */
+    ExpenseTotals summarize(Specification<Expense> spec);
+
+    /**
+     * @param spec the rows to aggregate
+     * @return per-category SUM and COUNT of the matching expenses; categories without rows are absent
+     */
+    List<CategoryTotal> sumByCategory(Specification<Expense> spec);
+}
@@ -0,0 +1,77 @@
+package com.example.Expense_Tracker.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.example.Expense_Tracker.DTO.CategoryTotal;
+import com.example.Expense_Tracker.DTO.ExpenseTotals;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.Model.Expense;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+class ExpenseViewQueriesImpl implements ExpenseViewQueries {
+
+    private final EntityManager entityManager;
+
+    ExpenseViewQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ExpenseView> findViews(Specification<Expense> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExpenseView> query = cb.createQuery(ExpenseView.class);
+        Root<Expense> root = query.from(Expense.class);
+        query.select(cb.construct(ExpenseView.class,
+                root.get("id"), root.get("amount"), root.get("description"), root.get("category"), root.get("createdAt")))
+            .where(spec.toPredicate(root, query, cb))
+            .orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<ExpenseView> streamViews(Specification<Expense> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExpenseView> query = cb.createQuery(ExpenseView.class);
+        Root<Expense> root = query.from(Expense.class);
+        query.select(cb.construct(ExpenseView.class,
+                root.get("id"), root.get("amount"), root.get("description"), root.get("category"), root.get("createdAt")))
+            .where(spec.toPredicate(root, query, cb))
+            .orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    @Override
+    public ExpenseTotals summarize(Specification<Expense> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExpenseTotals> query = cb.createQuery(ExpenseTotals.class);
+        Root<Expense> root = query.from(Expense.class);
+        query.select(cb.construct(ExpenseTotals.class, cb.sum(root.<BigDecimal>get("amount")), cb.count(root)))
+            .where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<CategoryTotal> sumByCategory(Specification<Expense> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CategoryTotal> query = cb.createQuery(CategoryTotal.class);
+        Root<Expense> root = query.from(Expense.class);
+        query.select(cb.construct(CategoryTotal.class, root.get("category"), cb.sum(root.<BigDecimal>get("amount")), cb.count(root)))
+            .where(spec.toPredicate(root, query, cb))
+            .groupBy(root.get("category"));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
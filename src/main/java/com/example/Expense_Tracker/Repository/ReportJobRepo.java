@@ -0,0 +1,79 @@
+package com.example.Expense_Tracker.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.Expense_Tracker.Model.ReportJob;
+
+@Repository
+public interface ReportJobRepo extends JpaRepository<ReportJob, Long> {
+
+    Optional<ReportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ReportJob> findTop20ByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // Unexpired jobs for the spec whose data is still current, newest first
+    @Query("SELECT j FROM ReportJob j WHERE j.userId = :userId AND j.specKey = :specKey AND j.stale = false "
+        + "AND j.status IN :statuses AND j.expiresAt > :now ORDER BY j.createdAt DESC")
+    List<ReportJob> findCurrent(@Param("userId") Long userId, @Param("specKey") String specKey,
+                                @Param("statuses") Collection<ReportJob.Status> statuses, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(j) FROM ReportJob j WHERE j.userId = :userId AND j.status IN :statuses AND j.expiresAt > :now")
+    long countByStatus(@Param("userId") Long userId, @Param("statuses") Collection<ReportJob.Status> statuses,
+                       @Param("now") LocalDateTime now);
+
+    List<ReportJob> findByExpiresAtLessThanEqual(LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :running, j.updatedAt = :now WHERE j.id = :id AND j.status = :queued")
+    int markRunning(@Param("id") Long id, @Param("queued") ReportJob.Status queued,
+                    @Param("running") ReportJob.Status running, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.rowsDone = :rowsDone, j.updatedAt = :now WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("rowsDone") long rowsDone, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :done, j.rowsDone = :rowsDone, j.artifactPath = :path, j.artifactSize = :size, "
+        + "j.updatedAt = :now, j.expiresAt = :expiresAt WHERE j.id = :id")
+    int markDone(@Param("id") Long id, @Param("done") ReportJob.Status done, @Param("rowsDone") long rowsDone,
+                 @Param("path") String path, @Param("size") long size,
+                 @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :failed, j.error = :error, j.updatedAt = :now WHERE j.id = :id")
+    int markFailed(@Param("id") Long id, @Param("failed") ReportJob.Status failed,
+                   @Param("error") String error, @Param("now") LocalDateTime now);
+
+    // QUEUED or RUNNING jobs without progress since the cutoff lost their worker (restart, crash)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :failed, j.error = :error, j.updatedAt = :now "
+        + "WHERE j.status IN :statuses AND j.updatedAt < :cutoff")
+    int failAbandoned(@Param("statuses") Collection<ReportJob.Status> statuses, @Param("failed") ReportJob.Status failed,
+                      @Param("error") String error, @Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+
+    // Joins the expense write's transaction, so the flag commits with the change
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.stale = true WHERE j.userId = :userId AND j.stale = false")
+    int markStale(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportJob j WHERE j.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
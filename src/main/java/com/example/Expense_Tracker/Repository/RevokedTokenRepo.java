@@ -0,0 +1,32 @@
+package com.example.Expense_Tracker.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.Expense_Tracker.Model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepo extends JpaRepository<RevokedToken, String> {
+
+    boolean existsByTokenDigestAndExpiresAtAfter(String tokenDigest, LocalDateTime now);
+
+    // Digests of tokens that are still revoked (not yet expired)
+    @Query("SELECT r.tokenDigest FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveDigests(@Param("now") LocalDateTime now);
+
+    // Digests revoked since a point in time, for the incremental refresh
+    @Query("SELECT r.tokenDigest FROM RevokedToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<String> findDigestsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,8 +1,10 @@
 package com.example.Expense_Tracker.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.Expense_Tracker.Model.User;
 
@@ -10,4 +12,7 @@ public interface UserRepo extends JpaRepository<User,Long>{
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,16 @@
+package com.example.Expense_Tracker.Security;
+
+import java.security.Principal;
+
+/**
+ * Principal stored in the SecurityContext for JWT-authenticated requests.
+ * Carries the user id from the token so services can key queries by it
+ * without looking the user up again.
+ */
+public record AuthenticatedUser(Long id, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
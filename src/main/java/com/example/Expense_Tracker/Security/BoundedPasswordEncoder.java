@@ -0,0 +1,120 @@
+package com.example.Expense_Tracker.Security;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.Expense_Tracker.Exception.PasswordHashingBusyException;
+import com.example.Expense_Tracker.Exception.PasswordHashingTimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs the wrapped (BCrypt) encoder on a dedicated bounded pool, so a burst of logins
+ * or registrations cannot tie up the request threads that serve everything else.
+ * A full queue is rejected immediately; a hash that does not finish within the
+ * timeout is abandoned.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor,
+                                  Duration timeout, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.matchesTimer = hashTimer("matches", meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+            .description("Time a password hash waited for a hashing thread")
+            .register(meterRegistry);
+        this.rejectedQueueFull = rejectedCounter("queue_full", meterRegistry);
+        this.rejectedTimeout = rejectedCounter("timeout", meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .description("Password hashes waiting for a hashing thread")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Password hashes currently running")
+            .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.password.hash")
+            .description("Password hashing time, excluding queue wait")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.password.rejected")
+            .description("Password hashes refused because the pool was saturated")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return runBounded(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return runBounded(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only inspects the stored hash's prefix, cheap enough for the calling thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T runBounded(Timer hashTimer, Supplier<T> hash) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(hash);
+            });
+        } catch (TaskRejectedException e) {
+            rejectedQueueFull.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests, please try again shortly");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: the worker will skip it. Already running: BCrypt is not interruptible
+            future.cancel(false);
+            rejectedTimeout.increment();
+            throw new PasswordHashingTimeoutException("Password hashing timed out, please try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PasswordHashingTimeoutException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
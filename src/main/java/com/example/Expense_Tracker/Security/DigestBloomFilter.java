@@ -0,0 +1,55 @@
+package com.example.Expense_Tracker.Security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over TokenDigest values. The digests are already uniformly
+ * distributed, so the bit positions are derived from the digest itself by double
+ * hashing instead of hashing again. Safe for concurrent adds and lookups.
+ * Entries cannot be removed; the filter is rebuilt instead.
+ */
+final class DigestBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedEntries number of digests the filter is sized for
+     * @param falsePositiveRate target false positive rate at that size, e.g. 0.01
+     */
+    DigestBloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    void add(String digest) {
+        long h1 = Long.parseUnsignedLong(digest, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(digest, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    // false means the digest was definitely never added
+    boolean mightContain(String digest) {
+        long h1 = Long.parseUnsignedLong(digest, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(digest, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
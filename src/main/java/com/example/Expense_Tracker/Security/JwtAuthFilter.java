@@ -1,15 +1,22 @@
 package com.example.Expense_Tracker.Security;
 
 import java.io.IOException;
+import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.Expense_Tracker.Model.User;
+import com.example.Expense_Tracker.Repository.UserRepo;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,9 +27,47 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter{
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
+
+    // Static assets, shared with Securityconfig's permitAll rules
+    public static final String[] STATIC_PATHS = {
+        "/css/**", "/js/**", "/images/**", "/static/**", "/favicon.ico", "/webjars/**"
+    };
+
+    // Actuator endpoints open to probes and scrapers, shared with Securityconfig
+    public static final String[] ACTUATOR_PATHS = {
+        "/actuator/health/**", "/actuator/prometheus"
+    };
+
+    // Public endpoints that never look at the caller's identity
+    private static final String[] PUBLIC_PATHS = {
+        "/api/auth/**", "/login", "/register"
+    };
+
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PrincipalCache principalCache;
+    private final UserRepo userRepo;
     private final UserDetailsService userService;
 
+    // Requests for static and public paths skip token parsing and the principal lookup entirely
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return matchesAny(STATIC_PATHS, path) || matchesAny(PUBLIC_PATHS, path) || matchesAny(ACTUATOR_PATHS, path);
+    }
+
+    private static boolean matchesAny(String[] patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(
         HttpServletRequest request, 
@@ -46,53 +91,61 @@ public class JwtAuthFilter extends OncePerRequestFilter{
                 }
             }
             
-            if(jwt == null) {
+            if(jwt == null || SecurityContextHolder.getContext().getAuthentication() != null) {
                 filterChain.doFilter(request, response);
                 return;
             }
             
-            // Check if token is blacklisted first
-            if(jwtService.isTokenBlacklisted(jwt)) {
-                // Clear the cookie and redirect to login
+        try{
+            // Revoked by logout: clear the cookie and redirect to login.
+            // Inside the try so a failed revocation lookup leaves the request unauthenticated
+            if(tokenRevocationService.isRevoked(jwt)) {
                 clearAuthCookie(response);
                 response.sendRedirect("/login");
                 return;
             }
-            
-        try{
-            final String username = jwtService.extractUsername(jwt);
-            if(username !=null && SecurityContextHolder.getContext().getAuthentication() == null){
-                try {
-                    UserDetails user = this.userService.loadUserByUsername(username);
-                    if(jwtService.isTokenValid(jwt, user)){
-                    //This token is required by spring security to authenticate the user
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        user,
-                        null,
-                        user.getAuthorities()
-                    );
-
-                    //setting details in the authtoken
-                    authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    //setting the authentication in the context
-                    //So now the user is authenticated
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
-                } catch (Exception userEx) {
-                    // User not found or authentication failed - clear cookie and continue
-                    clearAuthCookie(response);
-                    System.err.println("Authentication failed for user: " + username + " - " + userEx.getMessage());
-                }
-                //sending the request to the next filter in the chain
-                filterChain.doFilter(request, response);
-                
+
+            // One parse and signature check; expired or badly signed tokens throw
+            final VerifiedToken token = jwtService.verify(jwt);
+            Optional<PrincipalCache.Entry> entry = resolvePrincipal(token);
+            if(token.username() != null && entry.isPresent()
+                    && token.username().equals(entry.get().principal().username())){
+                //This token is required by spring security to authenticate the user
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    entry.get().principal(),
+                    null,
+                    entry.get().authorities()
+                );
+
+                //setting details in the authtoken
+                authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+                );
+                //setting the authentication in the context
+                //So now the user is authenticated
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                // User gone or renamed - clear cookie and continue unauthenticated
+                clearAuthCookie(response);
             }
         }
         catch(Exception e){
-            e.printStackTrace();
+            // Malformed, badly signed or expired token - continue unauthenticated
+            clearAuthCookie(response);
+            logger.debug("Rejected JWT: {}", e.getMessage());
+        }
+        //sending the request to the next filter in the chain
+        filterChain.doFilter(request, response);
+    }
+
+    // Tokens carry the user id (uid claim) and are resolved through the principal cache.
+    // Older tokens without it fall back to a username lookup.
+    private Optional<PrincipalCache.Entry> resolvePrincipal(VerifiedToken token) {
+        if(token.userId() != null) {
+            return principalCache.get(token.userId(), userRepo::findById);
         }
+        UserDetails user = userService.loadUserByUsername(token.username());
+        return user instanceof User entity ? Optional.of(PrincipalCache.toEntry(entity)) : Optional.empty();
     }
 
     private void clearAuthCookie(HttpServletResponse response) {
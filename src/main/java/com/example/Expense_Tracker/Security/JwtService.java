@@ -1,10 +1,11 @@
 package com.example.Expense_Tracker.Security;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
@@ -12,69 +13,126 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.example.Expense_Tracker.Model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private  String key;
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    // Claim holding the numeric user id, so requests can be served without a username lookup
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final Long expiration;
+
+    // Decoding the secret and building the parser are done once, not per token
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // Recently verified tokens by SHA-256 digest, each kept until the token itself expires
+    private final Cache<String, VerifiedToken> verified;
+
+    // verify() latency by how the token was resolved
+    private final Timer verifyCachedTimer;
+    private final Timer verifyParsedTimer;
+    private final Timer verifyRejectedTimer;
+
+    public JwtService(@Value("${jwt.secret}") String key,
+                      @Value("${jwt.expiration}") Long expiration,
+                      @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize,
+                      MeterRegistry meterRegistry) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(key));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfter(Expiry.creating((String digest, VerifiedToken token) ->
+                Duration.between(Instant.now(), token.expiresAt())))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt.verified");
+        this.verifyCachedTimer = verifyTimer("cached", meterRegistry);
+        this.verifyParsedTimer = verifyTimer("parsed", meterRegistry);
+        this.verifyRejectedTimer = verifyTimer("rejected", meterRegistry);
+    }
 
-    private final ConcurrentHashMap<String,Long> blacklisted = new ConcurrentHashMap<>();
+    private static Timer verifyTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.verify")
+            .description("JWT verification time; parsed includes the signature check")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
 
-    //Extracts username from the token
-    public String extractUsername(String token){
-        return extractClaim(token,Claims::getSubject);
+    /**
+     * Checks the token's signature and expiry and returns its claims. Repeated calls with
+     * the same token are served from the cache instead of re-verifying the HMAC.
+     * @param token the compact JWT
+     * @return the verified claims
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token){
+        long start = System.nanoTime();
+        String digest = TokenDigest.of(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if(cached != null && !cached.isExpiredAt(Instant.now())){
+            verifyCachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        try {
+            VerifiedToken parsed = parse(token);
+            verified.put(digest, parsed);
+            verifyParsedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return parsed;
+        } catch (JwtException | IllegalArgumentException e) {
+            verifyRejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
-    //Single claim extraction
-    private <T> T extractClaim(String token , Function<Claims,T> claimsResolver) {
-        final Claims claims = extractallClaims(token);
-        return claimsResolver.apply(claims);
+    // The single parse + signature check behind verify, uncached
+    VerifiedToken parse(String token){
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if(claims.getExpiration() == null){
+            throw new MalformedJwtException("Token has no expiration");
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new VerifiedToken(
+            claims.getSubject(),
+            userId != null ? userId.longValue() : null,
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            claims.getExpiration().toInstant());
     }
 
-    private Claims extractallClaims(String token){
-        return Jwts
-            .parserBuilder()
-            .setSigningKey(getSignInKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
-                   
-    } 
-    //For generating token only with the subject(either username or email)
-    public String generateToken(UserDetails userDetails){
-        return generateToken(new HashMap<>(),userDetails);
+    //Extracts username from the token
+    public String extractUsername(String token){
+        return verify(token).username();
     }
 
-    public void blackListToken(String token){
-        Date expirationDate = extractExpiration(token);
-        blacklisted.put(token,expirationDate.getTime());
+    //Extracts the user id, null for tokens issued before the claim existed
+    public Long extractUserId(String token){
+        return verify(token).userId();
     }
 
-    public boolean isTokenBlacklisted(String token){
-        if(token == null) return false; // null token is not blacklisted
-        
-        // Check if token exists in blacklist
-        Long expirationTime = blacklisted.get(token);
-        if(expirationTime == null) {
-            return false; // Token not in blacklist
-        }
-        
-        // Token is in blacklist, check if it's expired
-        if(expirationTime < System.currentTimeMillis()){
-            // Token expired, remove from blacklist
-            blacklisted.remove(token);
-            return false; 
+    //For generating token only with the subject(either username or email)
+    //Users that have an id also get it as the uid claim
+    public String generateToken(UserDetails userDetails){
+        Map<String,Object> claims = new HashMap<>();
+        if(userDetails instanceof User user && user.getId() != null){
+            claims.put(USER_ID_CLAIM, user.getId());
         }
-        
-        // Token is in blacklist and not expired
-        return true;
+        return generateToken(claims,userDetails);
     }
 
     //For generating token with claims 
@@ -85,30 +143,18 @@ public class JwtService {
             .setSubject(userDetails.getUsername())
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(expiration+ System.currentTimeMillis()))
-            .signWith(getSignInKey())
+            .signWith(signingKey)
             .compact();
     }
 
     //checking if token is valid
     public boolean isTokenValid(String token, UserDetails userDetails){
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) &&!isTokenExpired(token));
-    }
-
-    //Checking if token is expired
-    private boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+        return isTokenValid(token, userDetails.getUsername());
     }
 
-    //Extracting expiration date from token
-    //Need to switch to Instant for better time handling and readablility 
-    private Date extractExpiration(String token) {
-        return extractClaim(token,Claims::getExpiration);
+    public boolean isTokenValid(String token, String expectedUsername){
+        final VerifiedToken verifiedToken = verify(token);
+        return verifiedToken.username().equals(expectedUsername) && !verifiedToken.isExpiredAt(Instant.now());
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes=Decoders.BASE64.decode(key);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-    
 }
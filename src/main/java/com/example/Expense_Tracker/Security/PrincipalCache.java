@@ -0,0 +1,62 @@
+package com.example.Expense_Tracker.Security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.example.Expense_Tracker.Model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Authenticated principals by user id, so JwtAuthFilter does not go to the
+ * database on every request. Entries expire after a TTL and are dropped when
+ * the user is updated or deleted (see UserChangeListener). Missing users are
+ * not cached.
+ */
+@Component
+public class PrincipalCache {
+
+    public record Entry(AuthenticatedUser principal, Collection<? extends GrantedAuthority> authorities) {
+    }
+
+    private final Cache<Long, Entry> entries;
+
+    // No repository dependency: the cache is needed by UserChangeListener while JPA is still starting up
+    public PrincipalCache(@Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    /**
+     * @param userId id from the token's uid claim
+     * @param loader loads the user on a miss
+     * @return the cached principal, loading it on a miss; empty if the user no longer exists
+     */
+    public Optional<Entry> get(Long userId, Function<Long, Optional<User>> loader) {
+        Entry cached = entries.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Entry> loaded = loader.apply(userId).map(PrincipalCache::toEntry);
+        loaded.ifPresent(entry -> entries.put(userId, entry));
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        entries.invalidate(userId);
+    }
+
+    public static Entry toEntry(User user) {
+        return new Entry(new AuthenticatedUser(user.getId(), user.getUsername()), List.copyOf(user.getAuthorities()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.Expense_Tracker.Security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 of a compact JWT, as 64 lowercase hex characters. Used wherever a token
+ * has to be remembered (verified-claims cache, revocation store) so the token
+ * itself is never kept.
+ */
+public final class TokenDigest {
+
+    private TokenDigest() {
+    }
+
+    public static String of(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.Expense_Tracker.Security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.Expense_Tracker.Model.RevokedToken;
+import com.example.Expense_Tracker.Repository.RevokedTokenRepo;
+
+/**
+ * Logged-out tokens, stored as digests in the revoked_tokens table so every replica
+ * honours a logout. Each replica keeps a Bloom filter of the revoked digests in front
+ * of the table: the common "not revoked" answer needs no I/O, and only filter hits
+ * are confirmed against the database.
+ * Other replicas' revocations reach the filter on the next refresh. The sweep deletes
+ * expired rows and rebuilds the filter, since entries cannot be removed from it.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Re-read this much before the last refresh, covering clock skew between replicas
+    // and revocations that committed after a refresh had already read past them
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepo revokedTokenRepo;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+
+    // null until the first load; until then every check goes to the database
+    private volatile DigestBloomFilter filter;
+    private volatile LocalDateTime refreshedAt;
+
+    public TokenRevocationService(RevokedTokenRepo revokedTokenRepo,
+                                  @Value("${security.revocation.expected-tokens:100000}") long expectedTokens,
+                                  @Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepo = revokedTokenRepo;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Revokes a token until it expires.
+     * @param token the compact JWT
+     * @param expiresAt the token's expiry, after which the row can be swept
+     */
+    public void revoke(String token, Instant expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
+        if (!expiry.isAfter(now)) {
+            return; // already rejected as expired
+        }
+        String digest = TokenDigest.of(token);
+        revokedTokenRepo.save(RevokedToken.builder()
+            .tokenDigest(digest)
+            .expiresAt(expiry)
+            .revokedAt(now)
+            .build());
+        DigestBloomFilter current = filter;
+        if (current != null) {
+            current.add(digest);
+        }
+    }
+
+    /**
+     * @param token the compact JWT
+     * @return true if the token was revoked and has not expired yet
+     */
+    public boolean isRevoked(String token) {
+        if (token == null) {
+            return false;
+        }
+        String digest = TokenDigest.of(token);
+        DigestBloomFilter current = filter;
+        if (current != null && !current.mightContain(digest)) {
+            return false;
+        }
+        return revokedTokenRepo.existsByTokenDigestAndExpiresAtAfter(digest, LocalDateTime.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // Picks up tokens revoked on other replicas since the last refresh
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval:10s}",
+               initialDelayString = "${security.revocation.refresh-interval:10s}")
+    public synchronized void refresh() {
+        DigestBloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepo.findDigestsRevokedSince(refreshedAt.minus(REFRESH_OVERLAP), now).forEach(current::add);
+        refreshedAt = now;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.sweep-interval:1h}",
+               initialDelayString = "${security.revocation.sweep-interval:1h}")
+    public void sweep() {
+        int removed = revokedTokenRepo.deleteExpired(LocalDateTime.now());
+        rebuild();
+        logger.info("Revoked token sweep removed {} expired entries", removed);
+    }
+
+    // Replaces the filter with one holding only the unexpired revocations
+    private synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> digests = revokedTokenRepo.findActiveDigests(now);
+        DigestBloomFilter rebuilt = new DigestBloomFilter(Math.max(expectedTokens, 2L * digests.size()), falsePositiveRate);
+        digests.forEach(rebuilt::add);
+        filter = rebuilt;
+        refreshedAt = now;
+        // Local revocations added to the old filter while this one was loading
+        refresh();
+    }
+}
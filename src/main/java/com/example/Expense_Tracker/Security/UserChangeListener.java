@@ -0,0 +1,43 @@
+package com.example.Expense_Tracker.Security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.Expense_Tracker.Model.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on User that drops the user's cached principal when the row changes.
+ * Runs after commit when a transaction is active, so a concurrent request cannot
+ * re-cache the old row between the flush and the commit.
+ */
+@Component
+public class UserChangeListener {
+
+    // Optional so JPA-only contexts (repository slice tests) can build the listener without the cache
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public UserChangeListener(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principalCache.ifAvailable(cache -> cache.invalidate(userId));
+                }
+            });
+        } else {
+            principalCache.ifAvailable(cache -> cache.invalidate(userId));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.Expense_Tracker.Security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked by JwtService.verify.
+ * userId is null for tokens issued before the uid claim existed.
+ */
+public record VerifiedToken(String username, Long userId, Instant issuedAt, Instant expiresAt) {
+
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
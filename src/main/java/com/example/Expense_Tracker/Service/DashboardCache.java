@@ -0,0 +1,141 @@
+package com.example.Expense_Tracker.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-user cache of DashboardService results.
+ * Each user owns one entry holding all of their widget results, so the cache is
+ * bounded by user count and a write only drops that user's entry. Widget names carry
+ * client-supplied filters, so each entry is itself a cache bounded to max-widgets-per-user
+ * results. Entries also expire after a fixed TTL as a safety net.
+ * The user entries are exported as the "dashboard.users" cache (size, evictions); widget
+ * lookups, widget evictions and write invalidations as dashboard.cache.* counters.
+ */
+@Component
+public class DashboardCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCache.class);
+
+    private final Cache<Long, Cache<String, Object>> entries;
+    private final long maxWidgetsPerUser;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder widgetEvictions = new LongAdder();
+
+    public DashboardCache(
+            @Value("${dashboard.cache.ttl:60s}") Duration ttl,
+            @Value("${dashboard.cache.max-users:10000}") long maxUsers,
+            @Value("${dashboard.cache.max-widgets-per-user:64}") long maxWidgetsPerUser,
+            MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxUsers)
+            .recordStats()
+            .build();
+        this.maxWidgetsPerUser = maxWidgetsPerUser;
+        // Its gets count user entry lookups; widget hits and misses are counted below
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "dashboard.users");
+        FunctionCounter.builder("dashboard.cache.gets", hits, LongAdder::sum)
+            .description("Dashboard widget lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("dashboard.cache.gets", misses, LongAdder::sum)
+            .description("Dashboard widget lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        FunctionCounter.builder("dashboard.cache.widget.evictions", widgetEvictions, LongAdder::sum)
+            .description("Widget results evicted because a user's entry was full")
+            .register(meterRegistry);
+        FunctionCounter.builder("dashboard.cache.invalidations", invalidations, LongAdder::sum)
+            .description("User entries dropped because the user's data changed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result of a widget for a user, computing it on a miss.
+     * @param userId id of the user the result belongs to
+     * @param widget widget name, including any parameters that change the result
+     * @param loader computes the result on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String widget, Supplier<T> loader) {
+        Cache<String, Object> userEntry = entries.get(userId, key -> newUserEntry());
+        Object cached = userEntry.getIfPresent(widget);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        misses.increment();
+        // Loaded outside the map lock; an invalidation meanwhile replaces the whole
+        // user entry, so a stale result can only land in the detached map
+        T value = loader.get();
+        Object existing = userEntry.asMap().putIfAbsent(widget, value);
+        return existing != null ? (T) existing : value;
+    }
+
+    // The user's entry expires with it, so only its size needs a bound of its own
+    private Cache<String, Object> newUserEntry() {
+        return Caffeine.newBuilder()
+            .maximumSize(maxWidgetsPerUser)
+            .evictionListener((String widget, Object value, RemovalCause cause) -> widgetEvictions.increment())
+            .build();
+    }
+
+    public void evict(Long userId) {
+        entries.invalidate(userId);
+        invalidations.increment();
+    }
+
+    public void evictAll() {
+        entries.invalidateAll();
+        invalidations.increment();
+    }
+
+    // Before UserDataVersions bumps the version, so the new version is never served from stale entries
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Hit/miss counters are per widget lookup; evictions are size/TTL removals of
+     * whole user entries, widgetEvictions size removals within a user's entry,
+     * invalidations are evictions caused by writes.
+     */
+    public Map<String, Long> stats() {
+        return Map.of(
+            "hits", hits.sum(),
+            "misses", misses.sum(),
+            "evictions", entries.stats().evictionCount(),
+            "widgetEvictions", widgetEvictions.sum(),
+            "invalidations", invalidations.sum(),
+            "users", entries.estimatedSize());
+    }
+
+    @Scheduled(fixedRateString = "${dashboard.cache.stats-log-interval:15m}", initialDelayString = "${dashboard.cache.stats-log-interval:15m}")
+    public void logStats() {
+        logger.info("Dashboard cache stats: {}", stats());
+    }
+}
@@ -2,126 +2,309 @@ package com.example.Expense_Tracker.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.DTO.CategoryTotal;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseTotals;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.DTO.TimeSeries;
+import com.example.Expense_Tracker.Exception.DashboardUnavailableException;
 import com.example.Expense_Tracker.Repository.ExpenseRepo;
+import com.example.Expense_Tracker.Repository.ExpenseRollupRepo;
+import com.example.Expense_Tracker.Repository.ExpenseSpecifications;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "dashboard.service", histogram = true)
 public class DashboardService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+    private static final int MAX_TIME_SERIES_BUCKETS = 1000;
+
     private final ExpenseRepo expenseRepo;
+    private final ExpenseRollupRepo rollupRepo;
+    private final DashboardCache dashboardCache;
+    private final Executor dashboardExecutor;
+    private final Duration summaryPartTimeout;
+    private final TransactionTemplate summaryPartTransaction;
 
-    public DashboardService(ExpenseRepo expenseRepo) {
+    public DashboardService(ExpenseRepo expenseRepo, ExpenseRollupRepo rollupRepo, DashboardCache dashboardCache,
+                            @Qualifier("dashboardExecutor") Executor dashboardExecutor,
+                            @Value("${dashboard.summary.part-timeout:2s}") Duration summaryPartTimeout,
+                            PlatformTransactionManager transactionManager) {
         this.expenseRepo = expenseRepo;
+        this.rollupRepo = rollupRepo;
+        this.dashboardCache = dashboardCache;
+        this.dashboardExecutor = dashboardExecutor;
+        this.summaryPartTimeout = summaryPartTimeout;
+        this.summaryPartTransaction = new TransactionTemplate(transactionManager);
+        this.summaryPartTransaction.setReadOnly(true);
+        // Whole seconds: the query timeout JDBC drivers support
+        this.summaryPartTransaction.setTimeout((int) Math.max(1, (summaryPartTimeout.toMillis() + 999) / 1000));
+    }
+
+    /**
+     * Get everything the dashboard page shows in one call
+     * The parts are independent, so they run in parallel and the call takes as long as the
+     * slowest one. A part that fails or misses its deadline is returned as null and listed
+     * under "unavailable" instead of failing the whole summary, unless every part did.
+     * @param userId id of the user to build the summary for
+     * @param window from/to (inclusive days) and category for statistics and categoryBreakdown,
+     *               as for getStatistics; ExpenseFilter.NONE for all time
+     * @return Map containing statistics, categoryBreakdown, recentExpenses, currentMonthTotal,
+     *         monthlyExpenses (last 12 months) and unavailable
+     * @throws IllegalArgumentException if from is after to
+     * @throws DashboardUnavailableException if no part loaded
+     */
+    public Map<String, Object> getSummary(Long userId, ExpenseFilter window) {
+        checkWindow(window);
+        List<String> unavailable = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Map<String, Object>> statistics =
+            summaryPart("statistics", () -> getStatistics(userId, window), unavailable);
+        CompletableFuture<List<Map<String, Object>>> categoryBreakdown =
+            summaryPart("categoryBreakdown", () -> getCategoryBreakdown(userId, window), unavailable);
+        CompletableFuture<List<ExpenseView>> recentExpenses =
+            summaryPart("recentExpenses", () -> getRecentExpenses(userId), unavailable);
+        CompletableFuture<BigDecimal> currentMonthTotal =
+            summaryPart("currentMonthTotal", () -> getMonthlyExpenses(userId, YearMonth.now()), unavailable);
+        CompletableFuture<TimeSeries> monthlyExpenses =
+            summaryPart("monthlyExpenses", () -> getLastTwelveMonths(userId), unavailable);
+
+        List<CompletableFuture<?>> parts = List.of(statistics, categoryBreakdown, recentExpenses, currentMonthTotal, monthlyExpenses);
+        CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).join();
+        if (unavailable.size() == parts.size()) {
+            // Nothing to show; let the client retry rather than render an empty dashboard
+            throw new DashboardUnavailableException("No part of the dashboard summary could be loaded in time");
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("statistics", statistics.join());
+        summary.put("categoryBreakdown", categoryBreakdown.join());
+        summary.put("recentExpenses", recentExpenses.join());
+        summary.put("currentMonthTotal", currentMonthTotal.join());
+        summary.put("monthlyExpenses", monthlyExpenses.join());
+        summary.put("unavailable", List.copyOf(unavailable));
+        return summary;
+    }
+
+    // The part's queries run in a transaction whose timeout is the part's deadline, so a query
+    // still running when the deadline passes is cancelled by the database and the executor
+    // thread and connection are freed. A part still queued at the deadline is not run at all
+    private <T> CompletableFuture<T> summaryPart(String name, Supplier<T> part, List<String> unavailable) {
+        return CompletableFuture.supplyAsync(() -> summaryPartTransaction.execute(status -> part.get()), dashboardExecutor)
+            .orTimeout(summaryPartTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionally(ex -> {
+                logger.warn("Dashboard summary part '{}' unavailable: {}", name, ex.toString());
+                unavailable.add(name);
+                return null;
+            });
     }
 
     /**
      * Get comprehensive dashboard statistics for a user
-     * @param username the username to get statistics for
+     * @param userId id of the user to get statistics for
      * @return Map containing totalExpenses, monthlyExpenses, totalTransactions, and averageTransaction
      */
-    public Map<String, Object> getDashboardStatistics(String username) {
+    public Map<String, Object> getDashboardStatistics(Long userId) {
+        return dashboardCache.get(userId, "statistics", () -> computeDashboardStatistics(userId));
+    }
+
+    private Map<String, Object> computeDashboardStatistics(Long userId) {
         Map<String, Object> stats = new HashMap<>();
+        YearMonth currentMonth = YearMonth.now();
+
+        // All-time and current month aggregates, each a single query over the rollup table
+        ExpenseTotals allTime = rollupRepo.summarizeByUserId(userId);
+        ExpenseTotals thisMonth = rollupRepo.summarizeByUserIdAndPeriod(userId, currentMonth.getYear(), currentMonth.getMonthValue());
+
+        stats.put("totalExpenses", allTime.total());
+        stats.put("monthlyExpenses", thisMonth.total());
+        stats.put("totalTransactions", allTime.count());
+        stats.put("averageTransaction", allTime.average());
         
-        Double totalExpenses = expenseRepo.getTotalExpenseByUsername(username);
-        stats.put("totalExpenses", totalExpenses != null ? BigDecimal.valueOf(totalExpenses) : BigDecimal.ZERO);
-        
-        // Get current month expenses
-        LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        LocalDateTime endOfMonth = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth()).atTime(23, 59, 59);
-        List<Expense> monthlyExpenses = expenseRepo.getExpensesInDateRange(username, startOfMonth, endOfMonth);
-        BigDecimal monthlyTotal = monthlyExpenses.stream()
-            .map(Expense::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        stats.put("monthlyExpenses", monthlyTotal);
-        
-        // Total transactions count
-        List<Expense> allExpenses = expenseRepo.findByUserUsernameOrderByCreatedAtDesc(username);
-        stats.put("totalTransactions", allExpenses.size());
-        
-        // Average transaction
-        BigDecimal averageTransaction = BigDecimal.ZERO;
-        if (!allExpenses.isEmpty()) {
-            BigDecimal total = allExpenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-            averageTransaction = total.divide(BigDecimal.valueOf(allExpenses.size()), 2, RoundingMode.HALF_UP);
-        }
-        stats.put("averageTransaction", averageTransaction);
-        
-        return stats;
+        return Map.copyOf(stats);
     }
 
     /**
      * Get category breakdown with percentages for dashboard charts
-     * @param username the username to get category breakdown for
+     * @param userId id of the user to get category breakdown for
+     * @return List of maps containing category data with name, amount, and percentage
+     */
+    public List<Map<String, Object>> getCategoryBreakdown(Long userId) {
+        return dashboardCache.get(userId, "category-breakdown",
+            () -> toBreakdown(rollupRepo.sumByCategoryForUserId(userId)));
+    }
+
+    /**
+     * Get statistics for an optional window and category, aggregated by the database over the
+     * expenses table. An empty filter is answered from the rollups as getDashboardStatistics
+     * @param userId id of the user to get statistics for
+     * @param filter from/to (inclusive days) and category; null parts are unconstrained
+     * @return Map containing totalExpenses, totalTransactions, and averageTransaction for the window
+     * @throws IllegalArgumentException if from is after to
+     */
+    public Map<String, Object> getStatistics(Long userId, ExpenseFilter filter) {
+        if (filter.isEmpty()) {
+            return getDashboardStatistics(userId);
+        }
+        checkWindow(filter);
+        return dashboardCache.get(userId, "statistics:" + filter, () -> {
+            ExpenseTotals totals = expenseRepo.summarize(ExpenseSpecifications.matching(userId, filter));
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalExpenses", totals.total());
+            stats.put("totalTransactions", totals.count());
+            stats.put("averageTransaction", totals.average());
+            return Map.copyOf(stats);
+        });
+    }
+
+    /**
+     * Get category breakdown for an optional window and category, grouped by the database.
+     * An empty filter is answered from the rollups as getCategoryBreakdown
+     * @param userId id of the user to get category breakdown for
+     * @param filter from/to (inclusive days) and category; null parts are unconstrained
      * @return List of maps containing category data with name, amount, and percentage
+     * @throws IllegalArgumentException if from is after to
+     */
+    public List<Map<String, Object>> getCategoryBreakdown(Long userId, ExpenseFilter filter) {
+        if (filter.isEmpty()) {
+            return getCategoryBreakdown(userId);
+        }
+        checkWindow(filter);
+        return dashboardCache.get(userId, "category-breakdown:" + filter,
+            () -> toBreakdown(expenseRepo.sumByCategory(ExpenseSpecifications.matching(userId, filter))));
+    }
+
+    private static void checkWindow(ExpenseFilter filter) {
+        if (filter.from() != null && filter.to() != null && filter.to().isBefore(filter.from())) {
+            throw new IllegalArgumentException("Range end is before its start");
+        }
+    }
+
+    /**
+     * Get spend over time for charts, bucketed by day, week or month
+     * Buckets are computed by the database; empty buckets are filled with zeros here so the
+     * arrays line up with the requested range. Buckets are whole, so the first one starts at
+     * the bucket boundary on or before from.
+     * @param userId id of the user to get the series for
+     * @param from first day of the range (inclusive)
+     * @param to last day of the range (inclusive)
+     * @param granularity bucket size
+     * @return TimeSeries with one label, total and count per bucket
      */
-    public List<Map<String, Object>> getCategoryBreakdown(String username) {
-        List<Expense> expenses = expenseRepo.findByUserUsernameOrderByCreatedAtDesc(username);
-        BigDecimal total = expenses.stream()
-            .map(Expense::getAmount)
+    public TimeSeries getTimeSeries(Long userId, LocalDate from, LocalDate to, TimeSeries.Granularity granularity) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end is before its start");
+        }
+        List<LocalDate> buckets = new ArrayList<>();
+        for (LocalDate bucket = granularity.align(from); !bucket.isAfter(to); bucket = granularity.next(bucket)) {
+            if (buckets.size() == MAX_TIME_SERIES_BUCKETS) {
+                throw new IllegalArgumentException("Range has more than " + MAX_TIME_SERIES_BUCKETS + " buckets");
+            }
+            buckets.add(bucket);
+        }
+
+        return dashboardCache.get(userId, "time-series:" + granularity + ":" + from + ":" + to, () -> {
+            Map<LocalDate, BigDecimal> bucketTotals = new HashMap<>();
+            Map<LocalDate, Long> bucketCounts = new HashMap<>();
+            for (ExpenseRepo.TimeBucketTotal row : expenseRepo.sumByTimeBucket(userId, granularity.getTruncUnit(),
+                    buckets.get(0).atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+                LocalDate bucket = granularity.align(row.getBucket().toLocalDate());
+                bucketTotals.merge(bucket, row.getTotal(), BigDecimal::add);
+                bucketCounts.merge(bucket, row.getExpenseCount(), Long::sum);
+            }
+
+            List<String> labels = new ArrayList<>(buckets.size());
+            List<BigDecimal> totals = new ArrayList<>(buckets.size());
+            List<Long> counts = new ArrayList<>(buckets.size());
+            for (LocalDate bucket : buckets) {
+                labels.add(bucket.toString());
+                totals.add(bucketTotals.getOrDefault(bucket, BigDecimal.ZERO));
+                counts.add(bucketCounts.getOrDefault(bucket, 0L));
+            }
+            return new TimeSeries(granularity, from, to, List.copyOf(labels), List.copyOf(totals), List.copyOf(counts));
+        });
+    }
+
+    private List<Map<String, Object>> toBreakdown(List<CategoryTotal> categoryTotals) {
+        BigDecimal total = categoryTotals.stream()
+            .map(CategoryTotal::total)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        if (total.equals(BigDecimal.ZERO)) {
+        if (total.signum() == 0) {
             return List.of();
         }
         
-        return expenses.stream()
-            .collect(Collectors.groupingBy(Expense::getCategory))
-            .entrySet().stream()
-            .map(entry -> {
-                BigDecimal categoryTotal = entry.getValue().stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
+        // Largest share first, the order the chart lists them in
+        return categoryTotals.stream()
+            .sorted(Comparator.comparing(CategoryTotal::total).reversed())
+            .map(categoryTotal -> {
                 Map<String, Object> categoryData = new HashMap<>();
-                categoryData.put("name", entry.getKey().getDisplayName());
-                categoryData.put("category", entry.getKey().name());
-                categoryData.put("amount", categoryTotal);
+                categoryData.put("name", categoryTotal.category().getDisplayName());
+                categoryData.put("category", categoryTotal.category().name());
+                categoryData.put("amount", categoryTotal.total());
+                categoryData.put("count", categoryTotal.count());
                 categoryData.put("total", total);
-                categoryData.put("percentage", categoryTotal.multiply(BigDecimal.valueOf(100))
+                categoryData.put("percentage", categoryTotal.total().multiply(BigDecimal.valueOf(100))
                     .divide(total, 1, RoundingMode.HALF_UP).doubleValue());
                 
-                return categoryData;
+                return Map.copyOf(categoryData);
             })
-            .collect(Collectors.toList());
+            .toList();
     }
 
     /**
      * Get total expenses for a specific month
-     * @param username the username to get expenses for
+     * @param userId id of the user to get expenses for
      * @param yearMonth the year and month to get expenses for
      * @return BigDecimal representing total expenses for the month
      */
-    public BigDecimal getMonthlyExpenses(String username, YearMonth yearMonth) {
-        LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-        
-        List<Expense> monthlyExpenses = expenseRepo.getExpensesInDateRange(username, startOfMonth, endOfMonth);
-        return monthlyExpenses.stream()
-            .map(Expense::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getMonthlyExpenses(Long userId, YearMonth yearMonth) {
+        return dashboardCache.get(userId, "monthly:" + yearMonth,
+            () -> rollupRepo.summarizeByUserIdAndPeriod(userId, yearMonth.getYear(), yearMonth.getMonthValue()).total());
+    }
+
+    /**
+     * Get monthly totals for the last 12 months, including the current one
+     * @param userId id of the user to get the series for
+     * @return TimeSeries with one bucket per month, oldest first
+     */
+    public TimeSeries getLastTwelveMonths(Long userId) {
+        LocalDate today = LocalDate.now();
+        return getTimeSeries(userId, today.minusMonths(11).withDayOfMonth(1), today, TimeSeries.Granularity.MONTH);
     }
 
     /**
      * Get recent expenses for dashboard display (limited to 5)
-     * @param username the username to get expenses for
+     * @param userId id of the user to get expenses for
      * @return List of the 5 most recent expenses
      */
-    public List<Expense> getRecentExpenses(String username) {
-        return expenseRepo.findByUserUsernameOrderByCreatedAtDesc(username)
-            .stream()
-            .limit(5)
-            .collect(Collectors.toList());
+    public List<ExpenseView> getRecentExpenses(Long userId) {
+        return dashboardCache.get(userId, "recent-expenses",
+            () -> List.copyOf(expenseRepo.findViews(ExpenseSpecifications.belongsTo(userId), ExpenseSpecifications.NEWEST_FIRST, 5)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+package com.example.Expense_Tracker.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.Expense_Tracker.DTO.ExpenseDelta;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.Model.Expense;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Server-Sent Event streams of committed expense changes, for live dashboards.
+ * Each user has one channel shared by all of their open streams (tabs). A change is
+ * turned into one ExpenseDelta per distinct stream window, computed through
+ * DashboardService so tabs watching the same window share the cached result, and
+ * fanned out to the streams. Nothing is computed for users without open streams.
+ * Deltas are computed on the dashboardStreamExecutor, one change at a time per channel,
+ * and written on the dashboardStreamWriter, one event at a time per stream, never on the
+ * committing request's thread.
+ * A stream whose client reads too slowly has its backlog replaced by a single
+ * "resync" event, after which the client reloads the dashboard instead of replaying
+ * every delta it missed. A client that stops reading blocks only the write to its own
+ * stream, and a write blocked for longer than write-timeout closes that stream so no
+ * more work is queued for it. Idle streams get a heartbeat comment so proxies keep them
+ * open and dead connections are noticed.
+ */
+@Component
+public class DashboardStreams {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreams.class);
+
+    private static final String DELTA_EVENT = "expense";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final DashboardService dashboardService;
+    private final Executor executor;
+    private final Executor writer;
+    private final Duration streamTimeout;
+    private final Duration writeTimeout;
+    private final int maxStreamsPerUser;
+    private final int maxPendingEvents;
+    private final ConcurrentMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final Counter resyncs;
+    private final Counter stalled;
+
+    public DashboardStreams(DashboardService dashboardService,
+                            @Qualifier("dashboardStreamExecutor") Executor executor,
+                            @Qualifier("dashboardStreamWriter") Executor writer,
+                            @Value("${dashboard.stream.timeout:30m}") Duration streamTimeout,
+                            @Value("${dashboard.stream.write-timeout:5s}") Duration writeTimeout,
+                            @Value("${dashboard.stream.max-per-user:5}") int maxStreamsPerUser,
+                            @Value("${dashboard.stream.max-pending-events:32}") int maxPendingEvents,
+                            MeterRegistry meterRegistry) {
+        this.dashboardService = dashboardService;
+        this.executor = executor;
+        this.writer = writer;
+        this.streamTimeout = streamTimeout;
+        this.writeTimeout = writeTimeout;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.maxPendingEvents = maxPendingEvents;
+        Gauge.builder("dashboard.streams.open", channels,
+                open -> open.values().stream().mapToInt(channel -> channel.streams.size()).sum())
+            .description("Open dashboard event streams")
+            .register(meterRegistry);
+        this.resyncs = Counter.builder("dashboard.streams.resyncs")
+            .description("Stream backlogs dropped for a resync because the client read too slowly")
+            .register(meterRegistry);
+        this.stalled = Counter.builder("dashboard.streams.stalled")
+            .description("Streams closed because a write to the client blocked past the write timeout")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the user's expense changes.
+     * Beyond max-per-user streams the user's oldest stream is closed.
+     * @param userId id of the user whose changes are streamed
+     * @param window the from/to/category the stream's statistics are computed for
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter open(Long userId, ExpenseFilter window) {
+        Stream stream = new Stream(userId, window, new SseEmitter(streamTimeout.toMillis()));
+        stream.emitter.onTimeout(stream.emitter::complete);
+        stream.emitter.onError(error -> remove(stream));
+        stream.emitter.onCompletion(() -> remove(stream));
+
+        Channel channel = channels.compute(userId, (id, existing) -> {
+            Channel joined = existing != null ? existing : new Channel(id);
+            joined.streams.add(stream);
+            return joined;
+        });
+        if (channel.streams.size() > maxStreamsPerUser) {
+            channel.streams.get(0).emitter.complete();
+        }
+        // Sends the response headers right away, so the client sees the stream open
+        stream.enqueue(Message.HEARTBEAT);
+        return stream.emitter;
+    }
+
+    private void remove(Stream stream) {
+        channels.computeIfPresent(stream.userId, (id, channel) -> {
+            channel.streams.remove(stream);
+            return channel.streams.isEmpty() ? null : channel;
+        });
+    }
+
+    // After DashboardCache's eviction, so the deltas are computed from fresh data
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        Channel channel = channels.get(event.userId());
+        if (channel == null) {
+            return; // nobody is watching
+        }
+        Expense expense = event.expense();
+        if (expense == null) {
+            // A batch (import) has no single delta to push: the clients reload instead
+            channel.streams.forEach(stream -> stream.enqueue(new Message(RESYNC_EVENT, Map.of())));
+            return;
+        }
+        channel.changes.add(new Change(event.type(), new ExpenseView(expense.getId(), expense.getAmount(),
+            expense.getDescription(), expense.getCategory(), expense.getCreatedAt())));
+        channel.schedule();
+    }
+
+    @Scheduled(fixedRateString = "${dashboard.stream.heartbeat-interval:20s}",
+               initialDelayString = "${dashboard.stream.heartbeat-interval:20s}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Stream stream : channel.streams) {
+                stream.enqueueIfIdle(Message.HEARTBEAT);
+            }
+        }
+    }
+
+    // Closes streams stuck in a write. The write itself ends only when the connection fails or
+    // times out; until then it holds one writer thread, and nothing more is queued for the stream
+    @Scheduled(fixedRateString = "${dashboard.stream.write-check-interval:1s}",
+               initialDelayString = "${dashboard.stream.write-check-interval:1s}")
+    public void closeStalledStreams() {
+        long now = System.nanoTime();
+        for (Channel channel : channels.values()) {
+            for (Stream stream : channel.streams) {
+                long started = stream.writeStarted;
+                if (started != 0 && now - started > writeTimeout.toNanos()) {
+                    logger.info("Closing dashboard stream of user {}: a write blocked for more than {}", stream.userId, writeTimeout);
+                    stalled.increment();
+                    remove(stream);
+                    stream.emitter.completeWithError(new IOException("Write blocked for more than " + writeTimeout));
+                }
+            }
+        }
+    }
+
+    private ExpenseDelta delta(Long userId, Change change, ExpenseFilter window) {
+        try {
+            return new ExpenseDelta(change.type(), change.expense(),
+                dashboardService.getStatistics(userId, window),
+                dashboardService.getCategoryBreakdown(userId, window));
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard stream totals unavailable for user {}: {}", userId, e.toString());
+            return new ExpenseDelta(change.type(), change.expense(), null, null);
+        }
+    }
+
+    private record Change(ExpenseChangedEvent.Type type, ExpenseView expense) {
+    }
+
+    // An event waiting to be written; a null name is a heartbeat comment
+    private record Message(String name, Object data) {
+
+        static final Message HEARTBEAT = new Message(null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return name == null ? SseEmitter.event().comment("heartbeat") : SseEmitter.event().name(name).data(data);
+        }
+    }
+
+    // A user's open streams and the changes not yet fanned out to them
+    private final class Channel {
+
+        private final Long userId;
+        private final List<Stream> streams = new CopyOnWriteArrayList<>();
+        private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Channel(Long userId) {
+            this.userId = userId;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::fanOut);
+            }
+        }
+
+        private void fanOut() {
+            try {
+                Change change;
+                while ((change = changes.poll()) != null) {
+                    Map<ExpenseFilter, ExpenseDelta> deltas = new HashMap<>();
+                    for (Stream stream : streams) {
+                        Change current = change;
+                        ExpenseDelta delta = deltas.computeIfAbsent(stream.window, window -> delta(userId, current, window));
+                        stream.enqueue(new Message(DELTA_EVENT, delta));
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // A change added after the last poll but before the flag was cleared
+            if (!changes.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    // One open SSE connection with its bounded backlog of unsent events
+    private final class Stream {
+
+        private final Long userId;
+        private final ExpenseFilter window;
+        private final SseEmitter emitter;
+        private final Queue<Message> pending = new ArrayDeque<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, 0 when not writing
+        private volatile long writeStarted;
+
+        private Stream(Long userId, ExpenseFilter window, SseEmitter emitter) {
+            this.userId = userId;
+            this.window = window;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Message message) {
+            synchronized (pending) {
+                if (pending.size() >= maxPendingEvents) {
+                    // The client is not keeping up: it reloads instead of replaying the backlog
+                    pending.clear();
+                    pending.add(new Message(RESYNC_EVENT, Map.of()));
+                    resyncs.increment();
+                }
+                pending.add(message);
+            }
+            schedule();
+        }
+
+        private void enqueueIfIdle(Message message) {
+            synchronized (pending) {
+                if (!pending.isEmpty()) {
+                    return;
+                }
+            }
+            enqueue(message);
+        }
+
+        private Message poll() {
+            synchronized (pending) {
+                return pending.poll();
+            }
+        }
+
+        private boolean hasPending() {
+            synchronized (pending) {
+                return !pending.isEmpty();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    writer.execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    // Every writer is busy, most likely with stalled clients: this client reconnects
+                    logger.warn("Closing dashboard stream of user {}: no writer available", userId);
+                    scheduled.set(false);
+                    remove(this);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                Message message;
+                while ((message = poll()) != null) {
+                    writeStarted = Math.max(1, System.nanoTime());
+                    try {
+                        emitter.send(message.toEvent());
+                    } finally {
+                        writeStarted = 0;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or stream already completed
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (hasPending()) {
+                schedule();
+            }
+        }
+    }
+}
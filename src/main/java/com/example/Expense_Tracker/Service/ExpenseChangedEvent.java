@@ -0,0 +1,16 @@
+package com.example.Expense_Tracker.Service;
+
+import com.example.Expense_Tracker.Model.Expense;
+
+/**
+ * Published by ExpenseService whenever a user's expenses change.
+ * Listeners that derive data from expenses (caches, versions, live views)
+ * react to it after the transaction commits.
+ * IMPORTED covers a whole batch of new expenses; its expense is null.
+ */
+public record ExpenseChangedEvent(Long userId, String username, Type type, Expense expense) {
+
+    public enum Type {
+        ADDED, UPDATED, DELETED, IMPORTED
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.Expense_Tracker.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.Exception.ExportBusyException;
+import com.example.Expense_Tracker.Model.ReportJob;
+import com.example.Expense_Tracker.Report.ReportWriter;
+import com.example.Expense_Tracker.Repository.ExpenseRepo;
+import com.example.Expense_Tracker.Repository.ExpenseSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Full expense history downloads. Rows are read from a database cursor (fetch-size rows
+ * per round trip) and written to the response as they arrive, so heap use does not grow
+ * with the size of the history.
+ * Each running export holds a database connection until the client has read everything,
+ * so at most max-concurrent run at once and further ones are turned away.
+ */
+@Service
+public class ExpenseExportService {
+
+    private final ExpenseRepo expenseRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+    private final Semaphore slots;
+
+    public ExpenseExportService(ExpenseRepo expenseRepo, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${expense.export.fetch-size:500}") int fetchSize,
+                                @Value("${expense.export.max-concurrent:2}") int maxConcurrent) {
+        this.expenseRepo = expenseRepo;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            return Format.valueOf(value.trim().toUpperCase());
+        }
+    }
+
+    /**
+     * Reserve an export slot and return the body that writes the export
+     * The slot is released when the body has been written (or failed), or when the
+     * request's async processing completes without the body having started.
+     * @param userId id of the user whose expenses are exported
+     * @param filter which expenses to export; ExpenseFilter.NONE for all of them
+     * @param format CSV (header row, one row per expense) or NDJSON (one JSON object per line)
+     * @return the response body, oldest expense first
+     * @throws ExportBusyException if max-concurrent exports are already running
+     */
+    public StreamingResponseBody export(Long userId, ExpenseFilter filter, Format format) {
+        if (!slots.tryAcquire()) {
+            throw new ExportBusyException("Too many exports in progress, please try again shortly");
+        }
+        // Set by whichever runs first, the body or the request's completion, so the slot is released once
+        AtomicBoolean claimed = new AtomicBoolean();
+        releaseIfNeverRun(claimed);
+        return out -> {
+            if (!claimed.compareAndSet(false, true)) {
+                // The request already completed (timed out, failed); nobody is reading
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<ExpenseView> rows = expenseRepo.streamViews(ExpenseSpecifications.matching(userId, filter),
+                            ExpenseSpecifications.OLDEST_FIRST, fetchSize)) {
+                        write(rows.iterator(), format, StreamUtils.nonClosing(out));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                slots.release();
+            }
+        };
+    }
+
+    // MVC may never run the body (async timeout before it was scheduled, executor rejection);
+    // the request's async completion then releases the slot instead
+    private void releaseIfNeverRun(AtomicBoolean claimed) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        WebAsyncUtils.getAsyncManager(servletAttributes.getRequest()).registerCallableInterceptor(
+            ExpenseExportService.class.getName(), new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                    if (claimed.compareAndSet(false, true)) {
+                        slots.release();
+                    }
+                }
+            });
+    }
+
+    private void write(Iterator<ExpenseView> rows, Format format, OutputStream out) throws IOException {
+        switch (format) {
+            case CSV -> {
+                // Same quoting and formula guard as CSV reports; category is the enum name so the file can be re-imported
+                try (ReportWriter writer = ReportWriter.open(ReportJob.Format.CSV, out, null)) {
+                    writer.header(List.of("Id", "Date", "Description", "Category", "Amount"));
+                    while (rows.hasNext()) {
+                        ExpenseView expense = rows.next();
+                        writer.row(Arrays.asList(expense.id(), expense.createdAt(), expense.description(),
+                            expense.category(), expense.amount()));
+                    }
+                }
+            }
+            case NDJSON -> {
+                // Without a flush per value the generator's buffer batches many rows into each write
+                boolean empty = !rows.hasNext();
+                try (SequenceWriter writer = objectMapper.writer()
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                        .withRootValueSeparator("\n")
+                        .writeValues(out)) {
+                    while (rows.hasNext()) {
+                        writer.write(rows.next());
+                    }
+                }
+                if (!empty) {
+                    out.write('\n');
+                }
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.Expense_Tracker.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Expense_Tracker.DTO.ExpenseDto;
+import com.example.Expense_Tracker.DTO.ImportResult;
+import com.example.Expense_Tracker.Exception.CsvFormatException;
+import com.example.Expense_Tracker.Import.CsvReader;
+import com.example.Expense_Tracker.Import.ExpenseCsvColumns;
+import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.Model.User;
+import com.example.Expense_Tracker.Repository.UserRepo;
+import com.example.Expense_Tracker.Security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Bulk import of expenses from CSV, in the layout the CSV export writes (Id is ignored).
+ * The upload is parsed and validated one row at a time; valid rows are collected into
+ * chunks of chunk-size and each chunk is written in its own transaction, as JDBC batches
+ * of batch-size inserts (Expense ids are pooled from a sequence, so Hibernate can batch).
+ * Memory use is bounded by one chunk whatever the file size. Invalid rows are reported
+ * with their line number and skipped; a chunk that fails to save is reported and the
+ * import carries on with the next one, so committed chunks stay imported.
+ * Rollups are updated once per chunk and listeners get one IMPORTED event per chunk.
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    // Longest field the reader accepts; anything near it is a malformed file, not an expense
+    private static final int MAX_FIELD_LENGTH = 4096;
+
+    private final UserRepo userRepo;
+    private final ExpenseRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxErrors;
+    private final long maxRows;
+    private final Counter importedRows;
+    private final Counter failedRows;
+
+    public ExpenseImportService(UserRepo userRepo, ExpenseRollupService rollupService,
+                                ApplicationEventPublisher eventPublisher, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${expense.import.chunk-size:1000}") int chunkSize,
+                                @Value("${expense.import.batch-size:50}") int batchSize,
+                                @Value("${expense.import.max-errors:100}") int maxErrors,
+                                @Value("${expense.import.max-rows:100000}") long maxRows) {
+        this.userRepo = userRepo;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxRows = maxRows;
+        this.importedRows = Counter.builder("expense.import.rows")
+            .description("Rows read by CSV imports")
+            .tag("outcome", "imported")
+            .register(meterRegistry);
+        this.failedRows = Counter.builder("expense.import.rows")
+            .description("Rows read by CSV imports")
+            .tag("outcome", "failed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Imports a CSV file into the user's expenses. The header row names the columns, in any
+     * order and case: Amount, Description and Category are required, Date (or CreatedAt) is
+     * optional and defaults to now, others are ignored. Category is the name or display name,
+     * Date an ISO date or date-time.
+     * @param principal the user the expenses are added for
+     * @param csv the file, UTF-8
+     * @return counts, the first row errors and the throughput
+     * @throws IllegalArgumentException if the file is empty or the header lacks a required column
+     */
+    public ImportResult importCsv(AuthenticatedUser principal, InputStream csv) throws IOException {
+        long started = System.nanoTime();
+        Progress progress = new Progress();
+        try (CsvReader reader = new CsvReader(csv, MAX_FIELD_LENGTH)) {
+            ExpenseCsvColumns columns = ExpenseCsvColumns.of(reader.next());
+            List<ExpenseDto> chunk = new ArrayList<>(chunkSize);
+            List<Integer> chunkLines = new ArrayList<>(chunkSize);
+            try {
+                List<String> record;
+                while ((record = reader.next()) != null) {
+                    if (record.stream().allMatch(String::isBlank)) {
+                        continue;
+                    }
+                    if (progress.rowsRead == maxRows) {
+                        progress.error(0, "Stopped after " + maxRows + " rows; the rest of the file was not imported");
+                        break;
+                    }
+                    progress.rowsRead++;
+                    try {
+                        chunk.add(columns.toExpense(record));
+                        chunkLines.add(reader.getRecordLine());
+                    } catch (IllegalArgumentException e) {
+                        progress.failed++;
+                        progress.error(reader.getRecordLine(), e.getMessage());
+                    }
+                    if (chunk.size() == chunkSize) {
+                        write(principal, chunk, chunkLines, progress);
+                        chunk.clear();
+                        chunkLines.clear();
+                    }
+                }
+            } catch (CsvFormatException e) {
+                progress.error(0, e.getMessage() + "; the rest of the file was not imported");
+            }
+            // Rows read before the end of the file (or the point it became unreadable)
+            write(principal, chunk, chunkLines, progress);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        long rowsPerSecond = progress.rowsRead * 1000 / Math.max(1, elapsedMillis);
+        importedRows.increment(progress.imported);
+        failedRows.increment(progress.failed);
+        logger.info("CSV import for user {}: {} rows read, {} imported, {} failed in {} ms ({} rows/s)",
+            principal.id(), progress.rowsRead, progress.imported, progress.failed, elapsedMillis, rowsPerSecond);
+        return new ImportResult(progress.rowsRead, progress.imported, progress.failed,
+            List.copyOf(progress.errors), progress.errorsTruncated, elapsedMillis, rowsPerSecond);
+    }
+
+    private void write(AuthenticatedUser principal, List<ExpenseDto> chunk, List<Integer> lines, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(principal, chunk));
+            progress.imported += chunk.size();
+        } catch (RuntimeException e) {
+            logger.warn("CSV import chunk for user {} (lines {}-{}) failed", principal.id(),
+                lines.get(0), lines.get(lines.size() - 1), e);
+            progress.failed += chunk.size();
+            progress.error(lines.get(0), "Rows on lines " + lines.get(0) + "-" + lines.get(lines.size() - 1)
+                + " could not be saved and were not imported");
+        }
+    }
+
+    private void insert(AuthenticatedUser principal, List<ExpenseDto> chunk) {
+        // Per session, so other requests keep their statement-at-a-time behaviour
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        // Only the foreign key is written, so a reference is enough; a deleted user fails the insert
+        User user = userRepo.getReferenceById(principal.id());
+        List<Expense> expenses = new ArrayList<>(chunk.size());
+        for (ExpenseDto row : chunk) {
+            Expense expense = Expense.builder()
+                .amount(row.getAmount())
+                .description(row.getDescription())
+                .category(row.getCategory())
+                .createdAt(row.getCreatedAt())
+                .user(user)
+                .build();
+            entityManager.persist(expense);
+            expenses.add(expense);
+            if (expenses.size() % batchSize == 0) {
+                // Sends the batch and keeps the persistence context from growing with the chunk
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        rollupService.recordImported(principal.id(), expenses);
+        // One event for the chunk; delivered after commit like single changes
+        eventPublisher.publishEvent(new ExpenseChangedEvent(principal.id(), principal.username(),
+            ExpenseChangedEvent.Type.IMPORTED, null));
+    }
+
+    // Counts and errors of one import
+    private final class Progress {
+
+        private long rowsRead;
+        private long imported;
+        private long failed;
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+
+        private void error(long line, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportResult.RowError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.Expense_Tracker.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.Model.ExpenseRollup;
+import com.example.Expense_Tracker.Model.ExpenseRollupId;
+import com.example.Expense_Tracker.Repository.ExpenseRepo;
+import com.example.Expense_Tracker.Repository.ExpenseRollupRepo;
+import com.example.Expense_Tracker.Repository.UserRepo;
+
+/**
+ * Maintains the per-user monthly/category rollup table.
+ * Deltas are applied inside the caller's transaction so the rollups commit
+ * (or roll back) together with the expense change that produced them.
+ */
+@Service
+public class ExpenseRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseRollupService.class);
+
+    private final ExpenseRollupRepo rollupRepo;
+    private final ExpenseRepo expenseRepo;
+    private final UserRepo userRepo;
+    private final DashboardCache dashboardCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExpenseRollupService(ExpenseRollupRepo rollupRepo, ExpenseRepo expenseRepo, UserRepo userRepo,
+                                DashboardCache dashboardCache, PlatformTransactionManager transactionManager) {
+        this.rollupRepo = rollupRepo;
+        this.expenseRepo = expenseRepo;
+        this.userRepo = userRepo;
+        this.dashboardCache = dashboardCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Expense expense) {
+        apply(expense.getUser().getId(), expense.getCreatedAt(), expense.getCategory(), expense.getAmount(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Expense expense) {
+        apply(expense.getUser().getId(), expense.getCreatedAt(), expense.getCategory(), expense.getAmount().negate(), -1);
+    }
+
+    /**
+     * Moves an expense's contribution from its previous amount/category to the current one.
+     * createdAt is not updatable, so the month never changes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Expense expense, BigDecimal previousAmount, Expense.Category previousCategory) {
+        Long userId = expense.getUser().getId();
+        apply(userId, expense.getCreatedAt(), previousCategory, previousAmount.negate(), -1);
+        apply(userId, expense.getCreatedAt(), expense.getCategory(), expense.getAmount(), 1);
+    }
+
+    /**
+     * Adds a batch of new expenses of one user with one delta per month and category,
+     * instead of one per expense.
+     * @param userId owner of the expenses
+     * @param expenses the expenses just inserted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordImported(Long userId, List<Expense> expenses) {
+        Map<ExpenseRollupId, ExpenseRollup> deltas = new HashMap<>();
+        for (Expense expense : expenses) {
+            LocalDateTime createdAt = expense.getCreatedAt();
+            ExpenseRollupId id = new ExpenseRollupId(userId, createdAt.getYear(), createdAt.getMonthValue(), expense.getCategory());
+            deltas.merge(id, ExpenseRollup.builder().id(id).total(expense.getAmount()).expenseCount(1).build(),
+                (sum, one) -> {
+                    sum.setTotal(sum.getTotal().add(one.getTotal()));
+                    sum.setExpenseCount(sum.getExpenseCount() + 1);
+                    return sum;
+                });
+        }
+        for (ExpenseRollup delta : deltas.values()) {
+            apply(delta.getId(), delta.getTotal(), delta.getExpenseCount());
+        }
+    }
+
+    private void apply(Long userId, LocalDateTime createdAt, Expense.Category category, BigDecimal amount, long count) {
+        apply(new ExpenseRollupId(userId, createdAt.getYear(), createdAt.getMonthValue(), category), amount, count);
+    }
+
+    // Upsert without a primary key race: when two transactions write the first delta for a key,
+    // one inserts and the other's insert does nothing, so it adds its delta to the committed row
+    private void apply(ExpenseRollupId id, BigDecimal amount, long count) {
+        if (rollupRepo.applyDelta(id, amount, count) == 0
+                && rollupRepo.insertIfAbsent(id.getUserId(), id.getPeriodYear(), id.getPeriodMonth(),
+                    id.getCategory().name(), amount, count) == 0) {
+            rollupRepo.applyDelta(id, amount, count);
+        }
+    }
+
+    /**
+     * Regenerates a user's rollups from the expenses table.
+     * @param userId the user whose rollups should be rebuilt
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuildForUser(Long userId) {
+        rollupRepo.deleteByUserId(userId);
+        List<ExpenseRollup> rollups = expenseRepo.aggregateMonthlyByCategory(userId).stream()
+            .map(row -> ExpenseRollup.builder()
+                .id(new ExpenseRollupId(userId, row.getPeriodYear(), row.getPeriodMonth(), row.getCategory()))
+                .total(row.getTotal())
+                .expenseCount(row.getExpenseCount())
+                .build())
+            .toList();
+        rollupRepo.saveAll(rollups);
+        return rollups.size();
+    }
+
+    /**
+     * Reconcile job: rebuilds every user's rollups, one transaction per user so a
+     * failure only affects that user. Runs off-peak because a rebuild racing a
+     * concurrent write for the same user can lose that write's delta until the next run.
+     */
+    @Scheduled(cron = "${expense.rollup.reconcile-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        List<Long> userIds = userRepo.findAllIds();
+        int failures = 0;
+        for (Long userId : userIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuildForUser(userId));
+            } catch (RuntimeException e) {
+                failures++;
+                logger.warn("Rollup rebuild failed for user id {}: {}", userId, e.getMessage());
+            }
+        }
+        // Reconciled rollups may differ from what dashboards were computed from
+        dashboardCache.evictAll();
+        logger.info("Rollup reconcile finished for {} users ({} failures)", userIds.size(), failures);
+    }
+
+    /**
+     * First start after the rollup table was introduced: backfill it from existing expenses
+     * instead of waiting for the nightly reconcile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepo.count() == 0 && expenseRepo.count() > 0) {
+            logger.info("Rollup table is empty, backfilling from expenses");
+            rebuildAll();
+        }
+    }
+}
@@ -1,37 +1,51 @@
 package com.example.Expense_Tracker.Service;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.Expense_Tracker.DTO.CursorPage;
+import com.example.Expense_Tracker.DTO.ExpenseCursor;
 import com.example.Expense_Tracker.DTO.ExpenseDto;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
 import com.example.Expense_Tracker.Exception.UserNotFoundException;
 import com.example.Expense_Tracker.Model.Expense;
 import com.example.Expense_Tracker.Model.User;
 import com.example.Expense_Tracker.Repository.ExpenseRepo;
+import com.example.Expense_Tracker.Repository.ExpenseSpecifications;
 import com.example.Expense_Tracker.Repository.UserRepo;
+import com.example.Expense_Tracker.Security.AuthenticatedUser;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "expense.service", histogram = true)
 public class ExpenseService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ExpenseRepo expenseRepo;
     private final UserRepo userRepo;
+    private final ExpenseRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ExpenseService(ExpenseRepo expenseRepo, UserRepo userRepo) {
+    public ExpenseService(ExpenseRepo expenseRepo, UserRepo userRepo, ExpenseRollupService rollupService,
+                          ApplicationEventPublisher eventPublisher) {
         this.expenseRepo = expenseRepo;
         this.userRepo = userRepo;
-    }
-
-
-    public List<Expense> getAllExpensesForCurrentUser(){
-        String username = getCurrentUser().getUsername();
-        return expenseRepo.findByUserUsernameOrderByCreatedAtDesc(username);
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     public User getCurrentUser(){
@@ -42,15 +56,34 @@ public class ExpenseService {
         return user;
     }
 
-    public Expense getExpenseById(Long id) {
+    /**
+     * The authenticated user as carried by the JWT, without a database lookup.
+     * Authentications that did not come through JwtAuthFilter fall back to loading the user.
+     */
+    public AuthenticatedUser getCurrentPrincipal(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
         User user = getCurrentUser();
-        return expenseRepo.findByIdAndUserUsername(id, user.getUsername())
+        return new AuthenticatedUser(user.getId(), user.getUsername());
+    }
+
+    public Long getCurrentUserId(){
+        return getCurrentPrincipal().id();
+    }
+
+    public Expense getExpenseById(Long id) {
+        return expenseRepo.findByIdAndUserId(id, getCurrentUserId())
             .orElseThrow(() -> new RuntimeException("Expense not found or does not belong to the user"));
     }
 
     //creating an expense
+    @Transactional
     public Expense addExpense(ExpenseDto expenseDto) {
-        User user = getCurrentUser();
+        AuthenticatedUser principal = getCurrentPrincipal();
+        // Only the foreign key is written, so a reference is enough; a deleted user fails the insert
+        User user = userRepo.getReferenceById(principal.id());
 
         Expense expense = Expense.builder()
             .amount(expenseDto.getAmount())
@@ -59,121 +92,122 @@ public class ExpenseService {
             .createdAt(expenseDto.getCreatedAt() != null ? expenseDto.getCreatedAt() : LocalDateTime.now())
             .user(user)
             .build();
-        return expenseRepo.save(expense); 
-    }
-
-    public List<Expense> CategoryFilter(String category) {
-        User user = getCurrentUser();
-        return expenseRepo.findByUserUsernameAndCategoryOrderByCreatedAtDesc(user.getUsername(),Expense.Category.valueOf(category));
+        Expense saved = expenseRepo.save(expense);
+        rollupService.recordAdded(saved);
+        publishChange(principal, ExpenseChangedEvent.Type.ADDED, saved);
+        return saved;
     }
 
     //updating an expense
+    @Transactional
     public Expense updateExpense(Long id,ExpenseDto expenseDto){
-        User user = getCurrentUser();
-        Expense expense = expenseRepo.findByIdAndUserUsername(id, user.getUsername())
+        AuthenticatedUser principal = getCurrentPrincipal();
+        Expense expense = expenseRepo.findByIdAndUserId(id, principal.id())
             .orElseThrow(() -> new RuntimeException("Expense not found or does not belong to the user"));
 
+        BigDecimal previousAmount = expense.getAmount();
+        Expense.Category previousCategory = expense.getCategory();
         expense.setAmount(expenseDto.getAmount());
         expense.setDescription(expenseDto.getDescription());
         expense.setCategory(expenseDto.getCategory());
         // createdAt should not be updated
-        return expenseRepo.save(expense);
+        Expense saved = expenseRepo.save(expense);
+        rollupService.recordUpdated(saved, previousAmount, previousCategory);
+        publishChange(principal, ExpenseChangedEvent.Type.UPDATED, saved);
+        return saved;
     }
 
     public Double getTotalExpenses() {
-        User user = getCurrentUser();
-        return expenseRepo.getTotalExpenseByUsername(user.getUsername());
+        return expenseRepo.getTotalExpenseByUserId(getCurrentUserId());
     }
 
     public Double getTotalExpensesByCategory(String category) {
-        User user = getCurrentUser();
-        return expenseRepo.getTotalExpenseByCategoryAndUsername(user.getUsername(), Expense.Category.valueOf(category));
+        return expenseRepo.getTotalExpenseByCategoryAndUserId(getCurrentUserId(), Expense.Category.valueOf(category));
     }
 
-    public List<Expense> getExpenseByMonth(){
-        User user = getCurrentUser();
+    public List<ExpenseView> getExpenseByMonth(){
         LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
         LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusSeconds(1);
-        return expenseRepo.getExpensesInDateRange(user.getUsername(), startOfMonth, endOfMonth);
+        return expenseRepo.getExpensesInDateRange(getCurrentUserId(), startOfMonth, endOfMonth);
     }
 
-    public List<Expense> getExpensesInWeek() {
-        User user = getCurrentUser();
-        return expenseRepo.getExpensesInDateWeek(user.getUsername(), java.time.LocalDateTime.now().minusDays(7));
+    public List<ExpenseView> getExpensesInWeek() {
+        return expenseRepo.getExpensesInDateWeek(getCurrentUserId(), java.time.LocalDateTime.now().minusDays(7));
     }
 
-    public List<Expense> getExpensesInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        User user = getCurrentUser();
-        return expenseRepo.getExpensesInDateRange(user.getUsername(), startDate, endDate);
-    }
 
+    @Transactional
     public void deleteExpense(Long expenseId){
-        User user = getCurrentUser();
-        Expense expense=expenseRepo.findByIdAndUserUsername(expenseId, user.getUsername())
+        AuthenticatedUser principal = getCurrentPrincipal();
+        Expense expense=expenseRepo.findByIdAndUserId(expenseId, principal.id())
             .orElseThrow(() -> new RuntimeException("Expense not found or does not belong to the user"));
         expenseRepo.delete(expense);
+        rollupService.recordRemoved(expense);
+        publishChange(principal, ExpenseChangedEvent.Type.DELETED, expense);
+    }
+
+    // Delivered to listeners after the surrounding transaction commits
+    private void publishChange(AuthenticatedUser principal, ExpenseChangedEvent.Type type, Expense expense) {
+        eventPublisher.publishEvent(new ExpenseChangedEvent(principal.id(), principal.username(), type, expense));
     }
 
     // CRUD and basic expense operations only - dashboard functionality moved to DashboardService
 
-    public Page<Expense> getExpensesByUser(String username, Pageable pageable) {
-        // Since we don't have a native pagination method, we'll use the repository method
-        // This is a simplified implementation - in production, you'd want proper pagination
-        List<Expense> expenses = expenseRepo.findByUserUsernameOrderByCreatedAtDesc(username);
-        
-        // Convert List to Page manually (simplified)
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), expenses.size());
-        List<Expense> pageContent = expenses.subList(start, end);
-        
-        return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, expenses.size());
-    }
-
-    public Page<Expense> getFilteredExpenses(String username, String search, String category, 
-                                           LocalDate fromDate, LocalDate toDate, Pageable pageable) {
-        List<Expense> allExpenses = expenseRepo.findByUserUsernameOrderByCreatedAtDesc(username);
-        
-        // Apply filters
-        List<Expense> filteredExpenses = allExpenses.stream()
-            .filter(expense -> {
-                // Search filter
-                if (search != null && !search.isEmpty()) {
-                    String searchLower = search.toLowerCase();
-                    if (!expense.getDescription().toLowerCase().contains(searchLower)) {
-                        return false;
-                    }
-                }
-                
-                // Category filter
-                if (category != null && !category.isEmpty()) {
-                    if (!expense.getCategory().name().equals(category)) {
-                        return false;
-                    }
-                }
-                
-                // Date filters
-                LocalDate expenseDate = expense.getCreatedAt().toLocalDate();
-                if (fromDate != null && expenseDate.isBefore(fromDate)) {
-                    return false;
-                }
-                if (toDate != null && expenseDate.isAfter(toDate)) {
-                    return false;
-                }
-                
-                return true;
-            })
-            .collect(Collectors.toList());
-        
-        // Convert to Page
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredExpenses.size());
-        List<Expense> pageContent = filteredExpenses.subList(start, end);
-        
-        return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, filteredExpenses.size());
-    }
-
-    public Optional<Expense> getExpenseById(Long id, String username) {
-        return expenseRepo.findByIdAndUserUsername(id, username);
+    /**
+     * One page of a user's expenses, newest first.
+     * @param cursor token from a previous page's next/previous cursor, or null for the newest page
+     * @param size page size, clamped to [1, MAX_PAGE_SIZE]
+     * @return the page and the cursors around it
+     */
+    public CursorPage<ExpenseView> getExpensePage(Long userId, String cursor, int size) {
+        return getFilteredExpenses(userId, ExpenseFilter.NONE, cursor, size);
+    }
+
+    public CursorPage<ExpenseView> getFilteredExpenses(Long userId, ExpenseFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        ExpenseCursor position = ExpenseCursor.decode(cursor);
+        // One extra row tells whether there is anything beyond this page
+        List<ExpenseView> rows = fetchPage(userId, filter, position, pageSize + 1);
+
+        if (position != null && position.direction() == ExpenseCursor.Direction.NEWER) {
+            if (rows.size() <= pageSize) {
+                // Reached the newest expenses: show a full first page rather than a short one
+                return getFilteredExpenses(userId, filter, null, pageSize);
+            }
+            List<ExpenseView> items = new ArrayList<>(rows.subList(0, pageSize));
+            Collections.reverse(items);
+            return new CursorPage<>(items, pageSize,
+                ExpenseCursor.olderThan(items.get(items.size() - 1)).encode(),
+                ExpenseCursor.newerThan(items.get(0)).encode());
+        }
+
+        boolean hasOlder = rows.size() > pageSize;
+        List<ExpenseView> items = hasOlder ? rows.subList(0, pageSize) : rows;
+        String next = hasOlder ? ExpenseCursor.olderThan(items.get(items.size() - 1)).encode() : null;
+        String previous = (position != null && !items.isEmpty()) ? ExpenseCursor.newerThan(items.get(0)).encode() : null;
+        return new CursorPage<>(List.copyOf(items), pageSize, next, previous);
+    }
+
+    public long countFilteredExpenses(Long userId, ExpenseFilter filter) {
+        return expenseRepo.count(ExpenseSpecifications.matching(userId, filter));
+    }
+
+    private List<ExpenseView> fetchPage(Long userId, ExpenseFilter filter, ExpenseCursor position, int limit) {
+        Specification<Expense> spec = ExpenseSpecifications.matching(userId, filter);
+        if (position == null) {
+            return expenseRepo.findViews(spec, ExpenseSpecifications.NEWEST_FIRST, limit);
+        }
+        if (position.direction() == ExpenseCursor.Direction.OLDER) {
+            return expenseRepo.findViews(spec.and(ExpenseSpecifications.olderThan(position)),
+                ExpenseSpecifications.NEWEST_FIRST, limit);
+        }
+        // Seek towards newer rows in ascending order; the caller reverses the page
+        return expenseRepo.findViews(spec.and(ExpenseSpecifications.newerThan(position)),
+            ExpenseSpecifications.OLDEST_FIRST, limit);
+    }
+
+    public Optional<Expense> getExpenseById(Long id, Long userId) {
+        return expenseRepo.findByIdAndUserId(id, userId);
     }
 
 }
@@ -0,0 +1,394 @@
+package com.example.Expense_Tracker.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.Expense_Tracker.DTO.ExpenseCursor;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.DTO.ReportJobStatus;
+import com.example.Expense_Tracker.DTO.ReportSpec;
+import com.example.Expense_Tracker.DTO.TimeSeries;
+import com.example.Expense_Tracker.Exception.ReportQueueFullException;
+import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.Model.ReportJob;
+import com.example.Expense_Tracker.Model.ReportJob.Status;
+import com.example.Expense_Tracker.Report.ReportWriter;
+import com.example.Expense_Tracker.Repository.ExpenseRepo;
+import com.example.Expense_Tracker.Repository.ExpenseSpecifications;
+import com.example.Expense_Tracker.Repository.ReportJobRepo;
+
+/**
+ * Report jobs: a submitted ReportSpec is built in the background on the bounded
+ * reportExecutor, never on a request thread. The worker pages through the expenses in
+ * chunks (keyset, oldest first) and writes each chunk straight to the artifact file,
+ * recording progress after every chunk, so memory stays flat however many expenses a
+ * report covers.
+ * Finished artifacts are kept on local disk for artifact-ttl. A submission whose spec
+ * matches a job that is still in progress, or finished with its artifact on this
+ * replica, gets that job back instead of a new build. Any expense change marks the
+ * user's reports stale, so the next submission builds a fresh one.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    private static final Set<Status> ACTIVE = Set.of(Status.QUEUED, Status.RUNNING);
+    private static final Set<Status> REUSABLE = Set.of(Status.QUEUED, Status.RUNNING, Status.DONE);
+
+    private final ReportJobRepo reportJobRepo;
+    private final ExpenseRepo expenseRepo;
+    private final Executor reportExecutor;
+    private final Path storageDir;
+    private final Duration artifactTtl;
+    private final Duration jobTimeout;
+    private final int chunkSize;
+    private final int maxActivePerUser;
+
+    public ReportService(ReportJobRepo reportJobRepo, ExpenseRepo expenseRepo,
+                         @Qualifier("reportExecutor") Executor reportExecutor,
+                         @Value("${report.storage-dir}") String storageDir,
+                         @Value("${report.artifact-ttl:1h}") Duration artifactTtl,
+                         @Value("${report.job-timeout:15m}") Duration jobTimeout,
+                         @Value("${report.chunk-size:500}") int chunkSize,
+                         @Value("${report.max-active-per-user:3}") int maxActivePerUser) {
+        this.reportJobRepo = reportJobRepo;
+        this.expenseRepo = expenseRepo;
+        this.reportExecutor = reportExecutor;
+        this.storageDir = Paths.get(storageDir).toAbsolutePath();
+        this.artifactTtl = artifactTtl;
+        this.jobTimeout = jobTimeout;
+        this.chunkSize = chunkSize;
+        this.maxActivePerUser = maxActivePerUser;
+        try {
+            Files.createDirectories(this.storageDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Report storage directory unusable: " + this.storageDir, e);
+        }
+    }
+
+    /**
+     * Submit a report for building, or get back the current job for the same spec
+     * @param userId id of the user the report is for
+     * @param spec what the report covers
+     * @return the job: QUEUED for a new build, or the reused job in whatever state it is in
+     * @throws IllegalArgumentException if the spec is invalid
+     * @throws ReportQueueFullException if the user has too many reports in progress or the workers are saturated
+     */
+    public ReportJobStatus submit(Long userId, ReportSpec spec) {
+        spec.validate();
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<ReportJob> current = reportJobRepo.findCurrent(userId, spec.key(), REUSABLE, now).stream()
+            .filter(job -> job.getStatus() != Status.DONE || artifactExists(job))
+            .findFirst();
+        if (current.isPresent()) {
+            return ReportJobStatus.of(current.get());
+        }
+
+        if (reportJobRepo.countByStatus(userId, ACTIVE, now) >= maxActivePerUser) {
+            throw new ReportQueueFullException("Too many reports in progress, wait for one to finish");
+        }
+
+        long rowsTotal = expenseRepo.summarize(ExpenseSpecifications.matching(userId, spec.filter())).count();
+        ReportJob job = reportJobRepo.save(ReportJob.builder()
+            .userId(userId)
+            .specKey(spec.key())
+            .format(spec.format())
+            .grouping(spec.grouping())
+            .periodFrom(spec.from())
+            .periodTo(spec.to())
+            .category(spec.category())
+            .status(Status.QUEUED)
+            .rowsTotal(rowsTotal)
+            .createdAt(now)
+            .updatedAt(now)
+            .expiresAt(now.plus(artifactTtl))
+            .build());
+
+        try {
+            reportExecutor.execute(() -> build(job));
+        } catch (TaskRejectedException e) {
+            reportJobRepo.markFailed(job.getId(), Status.FAILED, "Report workers busy", LocalDateTime.now());
+            throw new ReportQueueFullException("Too many reports are being built, please try again shortly");
+        }
+        return ReportJobStatus.of(job);
+    }
+
+    /**
+     * @param userId id of the user who owns the jobs
+     * @return the user's most recent jobs, newest first
+     */
+    public List<ReportJobStatus> getJobs(Long userId) {
+        return reportJobRepo.findTop20ByUserIdOrderByCreatedAtDesc(userId).stream()
+            .map(ReportJobStatus::of)
+            .toList();
+    }
+
+    /**
+     * @param userId id of the user who owns the job
+     * @param jobId id of the job
+     * @return the job, or empty if the user has no such job
+     */
+    public Optional<ReportJobStatus> getJob(Long userId, Long jobId) {
+        return reportJobRepo.findByIdAndUserId(jobId, userId).map(ReportJobStatus::of);
+    }
+
+    /**
+     * @param userId id of the user who owns the job
+     * @param jobId id of the job
+     * @return the finished job with its artifact, or empty if it is not done, expired or not on this replica
+     */
+    public Optional<ReportArtifact> getArtifact(Long userId, Long jobId) {
+        return reportJobRepo.findByIdAndUserId(jobId, userId)
+            .filter(job -> job.getStatus() == Status.DONE && job.getExpiresAt().isAfter(LocalDateTime.now()))
+            .filter(this::artifactExists)
+            .map(job -> new ReportArtifact(job, Paths.get(job.getArtifactPath())));
+    }
+
+    public record ReportArtifact(ReportJob job, Path path) {
+
+        public String filename() {
+            ReportSpec spec = ReportSpec.of(job);
+            StringBuilder name = new StringBuilder("expense-report");
+            if (spec.from() != null) {
+                name.append('-').append(spec.from());
+            }
+            if (spec.to() != null) {
+                name.append("-to-").append(spec.to());
+            }
+            if (spec.grouping() != ReportJob.Grouping.NONE) {
+                name.append("-by-").append(spec.grouping().name().toLowerCase());
+            }
+            return name.append('.').append(spec.format().getExtension()).toString();
+        }
+    }
+
+    // Commits with the expense change itself, so no report built before it is served after it
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        reportJobRepo.markStale(event.userId());
+    }
+
+    /**
+     * Drops expired jobs with their artifacts, artifact files older than the TTL that no
+     * job points to any more (swept by another replica, or left by a crash), and fails
+     * jobs whose worker went away without finishing them.
+     */
+    @Scheduled(fixedDelayString = "${report.sweep-interval:5m}", initialDelayString = "${report.sweep-interval:5m}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = reportJobRepo.failAbandoned(ACTIVE, Status.FAILED, "Report build was interrupted",
+            now.minus(jobTimeout), now);
+
+        List<ReportJob> expired = reportJobRepo.findByExpiresAtLessThanEqual(now);
+        for (ReportJob job : expired) {
+            if (job.getArtifactPath() != null) {
+                deleteQuietly(Paths.get(job.getArtifactPath()));
+            }
+        }
+        if (!expired.isEmpty()) {
+            reportJobRepo.deleteByIds(expired.stream().map(ReportJob::getId).toList());
+        }
+
+        Instant cutoff = Instant.now().minus(artifactTtl);
+        int orphans = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDir)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                    orphans++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Report storage sweep failed: {}", e.toString());
+        }
+        if (abandoned > 0 || !expired.isEmpty() || orphans > 0) {
+            logger.info("Report sweep: {} abandoned, {} expired, {} orphaned files", abandoned, expired.size(), orphans);
+        }
+    }
+
+    private void build(ReportJob job) {
+        if (reportJobRepo.markRunning(job.getId(), Status.QUEUED, Status.RUNNING, LocalDateTime.now()) == 0) {
+            return; // failed or swept while it was queued
+        }
+        Path target = storageDir.resolve(job.getId() + "." + job.getFormat().getExtension());
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            long rows;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part));
+                 ReportWriter writer = ReportWriter.open(job.getFormat(), out, title(ReportSpec.of(job)))) {
+                rows = write(job, writer);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LocalDateTime now = LocalDateTime.now();
+            reportJobRepo.markDone(job.getId(), Status.DONE, rows, target.toString(), Files.size(target),
+                now, now.plus(artifactTtl));
+        } catch (Exception e) {
+            logger.warn("Report {} for user {} failed", job.getId(), job.getUserId(), e);
+            deleteQuietly(part);
+            reportJobRepo.markFailed(job.getId(), Status.FAILED, "Report could not be built", LocalDateTime.now());
+        }
+    }
+
+    // Streams the expenses in chunks into the writer; returns the number of expenses read
+    private long write(ReportJob job, ReportWriter writer) throws IOException {
+        ReportSpec spec = ReportSpec.of(job);
+        Specification<Expense> matching = ExpenseSpecifications.matching(job.getUserId(), spec.filter());
+        Grouped grouped = spec.grouping() == ReportJob.Grouping.NONE ? null : new Grouped(spec.grouping());
+        BigDecimal total = BigDecimal.ZERO;
+        long rows = 0;
+
+        if (grouped == null) {
+            writer.header(List.of("Date", "Description", "Category", "Amount"));
+        }
+        ExpenseView last = null;
+        while (true) {
+            Specification<Expense> page = last == null ? matching
+                : matching.and(ExpenseSpecifications.newerThan(ExpenseCursor.newerThan(last)));
+            List<ExpenseView> chunk = expenseRepo.findViews(page, ExpenseSpecifications.OLDEST_FIRST, chunkSize);
+            for (ExpenseView expense : chunk) {
+                if (grouped == null) {
+                    writer.row(Arrays.asList(expense.createdAt().toLocalDate(), expense.description(),
+                        expense.category().getDisplayName(), expense.amount()));
+                } else {
+                    grouped.add(expense);
+                }
+                total = total.add(expense.amount());
+            }
+            rows += chunk.size();
+            reportJobRepo.updateProgress(job.getId(), rows, LocalDateTime.now());
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            last = chunk.get(chunk.size() - 1);
+        }
+
+        if (grouped == null) {
+            writer.row(Arrays.asList("Total", null, null, total));
+        } else {
+            grouped.write(writer);
+            writer.row(Arrays.asList("Total", rows, total));
+        }
+        return rows;
+    }
+
+    // Count and total per category or per period; one entry per group, not per expense
+    private static final class Grouped {
+
+        private final ReportJob.Grouping grouping;
+        private final Map<Object, long[]> counts;
+        private final Map<Object, BigDecimal> totals;
+
+        private Grouped(ReportJob.Grouping grouping) {
+            this.grouping = grouping;
+            if (grouping == ReportJob.Grouping.CATEGORY) {
+                this.counts = new HashMap<>();
+                this.totals = new HashMap<>();
+            } else {
+                this.counts = new TreeMap<>();
+                this.totals = new TreeMap<>();
+            }
+        }
+
+        private void add(ExpenseView expense) {
+            Object key = key(expense);
+            counts.computeIfAbsent(key, k -> new long[1])[0]++;
+            totals.merge(key, expense.amount(), BigDecimal::add);
+        }
+
+        private Object key(ExpenseView expense) {
+            LocalDate day = expense.createdAt().toLocalDate();
+            return switch (grouping) {
+                case CATEGORY -> expense.category();
+                case DAY -> day;
+                case WEEK -> TimeSeries.Granularity.WEEK.align(day);
+                case MONTH -> YearMonth.from(day);
+                case NONE -> throw new IllegalStateException("Ungrouped report");
+            };
+        }
+
+        // Categories by total, largest first; periods in date order
+        private void write(ReportWriter writer) throws IOException {
+            writer.header(List.of(column(), "Count", "Total"));
+            var keys = totals.keySet().stream();
+            if (grouping == ReportJob.Grouping.CATEGORY) {
+                keys = keys.sorted(Comparator.comparing(totals::get).reversed());
+            }
+            for (Object key : keys.toList()) {
+                Object label = key instanceof Expense.Category category ? category.getDisplayName() : key;
+                writer.row(Arrays.asList(label, counts.get(key)[0], totals.get(key)));
+            }
+        }
+
+        private String column() {
+            return switch (grouping) {
+                case CATEGORY -> "Category";
+                case DAY -> "Day";
+                case WEEK -> "Week of";
+                case MONTH -> "Month";
+                case NONE -> throw new IllegalStateException("Ungrouped report");
+            };
+        }
+    }
+
+    private static String title(ReportSpec spec) {
+        StringBuilder title = new StringBuilder("Expense report");
+        if (spec.from() != null || spec.to() != null) {
+            title.append(", ").append(spec.from() != null ? spec.from() : "start")
+                .append(" to ").append(spec.to() != null ? spec.to() : "today");
+        }
+        if (spec.category() != null) {
+            title.append(", ").append(spec.category().getDisplayName());
+        }
+        if (spec.grouping() != ReportJob.Grouping.NONE) {
+            title.append(", by ").append(spec.grouping().name().toLowerCase());
+        }
+        return title.toString();
+    }
+
+    private boolean artifactExists(ReportJob job) {
+        return job.getArtifactPath() != null && Files.isRegularFile(Paths.get(job.getArtifactPath()));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete report file {}: {}", file, e.toString());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.Expense_Tracker.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Per-user version of the expense data, used as the ETag for conditional GETs.
+ * Versions are drawn from one increasing clock and a user's version is replaced after
+ * every committed expense change, so an unchanged version means unchanged data.
+ * Like DashboardCache, versions are per replica: they carry a per-process epoch, and
+ * an entry expires after the TTL and comes back with a new version. That bounds how
+ * long a replica that did not see a write on another one keeps answering 304.
+ */
+@Component
+public class UserDataVersions {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<Long, Long> versions;
+    // Keeps this process's tags distinct from other replicas' and from previous runs
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    public UserDataVersions(
+            @Value("${data-version.ttl:60s}") Duration ttl,
+            @Value("${data-version.max-users:10000}") long maxUsers) {
+        this.versions = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxUsers)
+            .build();
+    }
+
+    /**
+     * @param userId id of the user
+     * @return the current version of the user's expense data, unique to this process
+     */
+    public String current(Long userId) {
+        return epoch + "-" + versions.get(userId, key -> clock.incrementAndGet());
+    }
+
+    public void bump(Long userId) {
+        versions.put(userId, clock.incrementAndGet());
+    }
+
+    // Runs after DashboardCache's listener, so a new version never tags a stale cached widget
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        bump(event.userId());
+    }
+}
@@ -0,0 +1,38 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Expense ids move from the IDENTITY column to expenses_seq, which Hibernate draws from
+ * 50 ids at a time (pooled optimizer: a value v covers v - 49 .. v).
+ * Written in Java because the sequence has to start past the existing ids and there is no
+ * setval() that works on both PostgreSQL and the H2 test database.
+ * The identity is replaced by a nextval default for inserts that bypass Hibernate (seed scripts):
+ * such a row takes a value v itself, and Hibernate only uses the blocks ending at values it draws,
+ * so the two never collide.
+ */
+public class V5__Pooled_expense_ids extends BaseJavaMigration {
+
+    // Fixed as applied: Expense's allocationSize must match, and changing it needs a new migration
+    private static final int INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM expenses")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            // The first block handed out is (start - size, start], all above the existing ids
+            long start = maxId + INCREMENT;
+            statement.execute("CREATE SEQUENCE expenses_seq START WITH " + start + " INCREMENT BY " + INCREMENT);
+            statement.execute("ALTER TABLE expenses ALTER COLUMN id DROP IDENTITY");
+            statement.execute("ALTER TABLE expenses ALTER COLUMN id SET DEFAULT nextval('expenses_seq')");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+-- Baseline: the schema Hibernate's ddl-auto=update produced before migrations took over.
+-- IF NOT EXISTS lets this run unchanged against databases that already have these tables.
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    email varchar(255) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount numeric(38, 2) NOT NULL,
+    description varchar(255) NOT NULL,
+    category varchar(255) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    user_id bigint NOT NULL,
+    CONSTRAINT fk_expenses_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS expense_rollups (
+    user_id bigint NOT NULL,
+    period_year integer NOT NULL,
+    period_month integer NOT NULL,
+    category varchar(255) NOT NULL,
+    total numeric(38, 2) NOT NULL,
+    expense_count bigint NOT NULL,
+    PRIMARY KEY (user_id, period_year, period_month, category)
+);
@@ -0,0 +1,8 @@
+-- Indexes for the ExpenseRepo hot paths. Every query filters by one user first.
+
+-- Newest-first lists and keyset pages (ORDER BY created_at DESC, id DESC),
+-- date-range totals, the time series and the recent-expenses widget
+CREATE INDEX IF NOT EXISTS idx_expenses_user_created ON expenses (user_id, created_at, id);
+
+-- Category filter, per-category totals and category-filtered pages within a date range
+CREATE INDEX IF NOT EXISTS idx_expenses_user_category_created ON expenses (user_id, category, created_at);
@@ -0,0 +1,14 @@
+-- Logged-out JWTs, shared by every replica. Only the token's SHA-256 digest is stored,
+-- and a row is swept once the token would have expired anyway.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_digest varchar(64) NOT NULL PRIMARY KEY,
+    expires_at timestamp(6) NOT NULL,
+    revoked_at timestamp(6) NOT NULL
+);
+
+-- Sweep of expired rows
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens (expires_at);
+
+-- Incremental refresh of each replica's Bloom filter (rows revoked since the last refresh)
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked ON revoked_tokens (revoked_at);
@@ -0,0 +1,33 @@
+-- Report jobs from the reports page. A row holds the report's spec, its progress and,
+-- once done, where the artifact was written on the node that built it.
+-- stale is set by any later change to the user's expenses, so a stale artifact is
+-- still downloadable but no longer reused for a new request.
+
+CREATE TABLE IF NOT EXISTS report_jobs (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id bigint NOT NULL,
+    spec_key varchar(255) NOT NULL,
+    format varchar(16) NOT NULL,
+    group_by varchar(16) NOT NULL,
+    period_from date,
+    period_to date,
+    category varchar(255),
+    status varchar(16) NOT NULL,
+    rows_total bigint NOT NULL,
+    rows_done bigint NOT NULL,
+    artifact_path varchar(1024),
+    artifact_size bigint,
+    error varchar(1024),
+    stale boolean NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    expires_at timestamp(6) NOT NULL,
+    CONSTRAINT fk_report_jobs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Reuse lookup (same user and spec) and the user's job list, newest first
+CREATE INDEX IF NOT EXISTS idx_report_jobs_user_spec ON report_jobs (user_id, spec_key, created_at);
+CREATE INDEX IF NOT EXISTS idx_report_jobs_user_created ON report_jobs (user_id, created_at);
+
+-- Sweep of expired jobs and their artifacts
+CREATE INDEX IF NOT EXISTS idx_report_jobs_expires ON report_jobs (expires_at);
@@ -316,6 +316,27 @@ class ExpenseTracker {
     }
 
     // Utility functions
+    /**
+     * Download an export of the user's expenses. The server streams the file, so the
+     * browser saves it directly instead of the page holding every expense in memory.
+     * @param {string} format - 'csv' or 'ndjson'
+     * @param {Object} filters - optional from/to (YYYY-MM-DD), category and search
+     */
+    downloadExport(format = 'csv', filters = {}) {
+        const query = new URLSearchParams({ format });
+        Object.entries(filters).forEach(([key, value]) => {
+            if (value) {
+                query.set(key, value);
+            }
+        });
+        const link = document.createElement('a');
+        link.href = `${this.baseURL}/expense/export?${query}`;
+        link.style.visibility = 'hidden';
+        document.body.appendChild(link);
+        link.click();
+        document.body.removeChild(link);
+    }
+
     formatCurrency(amount) {
         return new Intl.NumberFormat('en-US', {
             style: 'currency',
@@ -380,67 +401,9 @@ async function logout() {
     }
 }
 
-// Global export function
-async function exportExpenses() {
-    try {
-        if (typeof app !== 'undefined') {
-            app.showAlert('Exporting expenses...', 'info');
-        }
-        
-        const expenses = await app.get('/api/expense/get');
-        
-        if (!expenses || expenses.length === 0) {
-            if (typeof app !== 'undefined') {
-                app.showAlert('No expenses to export', 'warning');
-            } else {
-                alert('No expenses to export');
-            }
-            return;
-        }
-
-        // Convert to CSV format
-        const csv = convertExpensesToCSV(expenses);
-        
-        // Create and download file
-        const blob = new Blob([csv], { type: 'text/csv;charset=utf-8;' });
-        const link = document.createElement('a');
-        const url = URL.createObjectURL(blob);
-        link.setAttribute('href', url);
-        link.setAttribute('download', `expenses-${new Date().toISOString().split('T')[0]}.csv`);
-        link.style.visibility = 'hidden';
-        document.body.appendChild(link);
-        link.click();
-        document.body.removeChild(link);
-        
-        if (typeof app !== 'undefined') {
-            app.showAlert('Expenses exported successfully!', 'success');
-        }
-    } catch (error) {
-        console.error('Export failed:', error);
-        if (typeof app !== 'undefined') {
-            app.showAlert('Failed to export expenses', 'error');
-        } else {
-            alert('Failed to export expenses');
-        }
-    }
-}
-
-// Helper function to convert expenses to CSV
-function convertExpensesToCSV(expenses) {
-    const headers = ['Date', 'Description', 'Amount', 'Category'];
-    const csvContent = [headers.join(',')];
-    
-    expenses.forEach(expense => {
-        const row = [
-            new Date(expense.createdAt).toLocaleDateString(),
-            `"${expense.description.replace(/"/g, '""')}"`, // Escape quotes
-            expense.amount,
-            expense.category
-        ];
-        csvContent.push(row.join(','));
-    });
-    
-    return csvContent.join('\n');
+// Global export function: downloads the full history as CSV (or 'ndjson')
+function exportExpenses(format = 'csv') {
+    app.downloadExport(format);
 }
 
 // Initialize app
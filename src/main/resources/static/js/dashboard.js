@@ -2,8 +2,10 @@
 class DashboardManager {
     constructor() {
         this.baseURL = '/api';
-        this.refreshInterval = 300000; // 5 minutes
+        this.refreshInterval = 300000; // 5 minutes, only used without live updates
         this.refreshTimer = null;
+        this.eventSource = null; // Live updates stream (Server-Sent Events)
+        this.recentExpenses = [];
         this.currentTimePeriod = 'month'; // week, month, quarter, year
         this.cache = new Map(); // Cache for API responses
         this.cacheTimeout = 5 * 60 * 1000; // 5 minutes
@@ -15,10 +17,10 @@ class DashboardManager {
      * Initialize dashboard components and event listeners
      */
     init() {
-        this.loadDashboardData();
-        this.setupAutoRefresh();
         this.setupEventListeners();
         this.setupTimePeriodSelector();
+        this.loadDashboardData();
+        this.setupLiveUpdates();
     }
 
     /**
@@ -63,6 +65,8 @@ class DashboardManager {
                 this.currentTimePeriod = e.target.value;
                 this.loadDashboardData();
                 this.saveTimePeriodPreference();
+                // The stream's totals are computed for the selected period
+                this.setupLiveUpdates();
             });
 
             // Load saved preference
@@ -87,7 +91,7 @@ class DashboardManager {
     }
 
     /**
-     * Load all dashboard data in parallel for better performance
+     * Load all dashboard data with a single summary request
      */
     async loadDashboardData() {
         try {
@@ -97,20 +101,15 @@ class DashboardManager {
             // Calculate date range for current period
             const dateRange = this.calculateDateRange(this.currentTimePeriod);
 
-            // Load all data in parallel
-            const [stats, recentExpenses, categoryBreakdown, monthlyData] = await Promise.all([
-                this.loadStatistics(dateRange),
-                this.loadRecentExpenses(),
-                this.loadCategoryBreakdown(dateRange),
-                this.loadMonthlyData()
-            ]);
+            // One request; the server computes the parts in parallel
+            const summary = await this.loadSummary(dateRange);
 
-            // Process and display data
+            // Process and display data; a part the server could not compute is null
             this.processDashboardData({
-                stats,
-                recentExpenses,
-                categoryBreakdown,
-                monthlyData,
+                stats: summary.statistics || this.getDefaultStats(),
+                recentExpenses: summary.recentExpenses || [],
+                categoryBreakdown: summary.categoryBreakdown || [],
+                monthlyData: summary.monthlyExpenses ? this.toMonthlyData(summary.monthlyExpenses) : [],
                 dateRange
             });
 
@@ -160,12 +159,13 @@ class DashboardManager {
     }
 
     /**
-     * Load dashboard statistics with optional date range
+     * Load the dashboard summary: statistics and category breakdown for the date range,
+     * recent expenses, and monthly totals
      * @param {Object} dateRange - Date range object
-     * @returns {Promise<Object>} Statistics data
+     * @returns {Promise<Object>} Summary data
      */
-    async loadStatistics(dateRange) {
-        const cacheKey = `stats_${this.currentTimePeriod}`;
+    async loadSummary(dateRange) {
+        const cacheKey = `summary_${this.currentTimePeriod}`;
 
         // Check cache first
         if (this.cache.has(cacheKey)) {
@@ -175,50 +175,29 @@ class DashboardManager {
             }
         }
 
-        try {
-            let stats;
-
-            if (dateRange) {
-                // Use date range filtered data
-                const expenses = await app.get(`/expense/DateRange?startDate=${dateRange.startDate}&endDate=${dateRange.endDate}`);
-                stats = this.calculateStatsFromExpenses(expenses);
-            } else {
-                // Use general stats endpoint
-                stats = await app.get('/dashboard/statistics');
-            }
+        const summary = await app.get(`/dashboard/summary${this.rangeQuery(dateRange)}`);
 
-            // Cache the result
+        // Partial summaries are shown but not kept, so the next load retries the missing parts
+        if (summary.unavailable.length === 0) {
             this.cache.set(cacheKey, {
-                data: stats,
+                data: summary,
                 timestamp: Date.now()
             });
-
-            return stats;
-        } catch (error) {
-            console.error('Error loading statistics:', error);
-            return this.getDefaultStats();
         }
+
+        return summary;
     }
 
     /**
-     * Calculate statistics from expense data
-     * @param {Array} expenses - Array of expenses
-     * @returns {Object} Statistics object
+     * Query string selecting a date range on the dashboard endpoints
+     * @param {Object} dateRange - Date range object, or null for all time
+     * @returns {string} Query string (empty without a range)
      */
-    calculateStatsFromExpenses(expenses) {
-        if (!expenses || expenses.length === 0) {
-            return this.getDefaultStats();
+    rangeQuery(dateRange) {
+        if (!dateRange) {
+            return '';
         }
-
-        const totalExpenses = expenses.reduce((sum, expense) => sum + parseFloat(expense.amount || 0), 0);
-        const averageTransaction = totalExpenses / expenses.length;
-
-        return {
-            totalExpenses: totalExpenses,
-            totalTransactions: expenses.length,
-            averageTransaction: averageTransaction,
-            period: this.currentTimePeriod
-        };
+        return `?from=${encodeURIComponent(dateRange.startDate)}&to=${encodeURIComponent(dateRange.endDate)}`;
     }
 
     /**
@@ -247,78 +226,6 @@ class DashboardManager {
         }
     }
 
-    /**
-     * Load category breakdown data
-     * @param {Object} dateRange - Date range for filtering
-     * @returns {Promise<Array>} Category breakdown data
-     */
-    async loadCategoryBreakdown(dateRange) {
-        const cacheKey = `categories_${this.currentTimePeriod}`;
-
-        // Check cache first
-        if (this.cache.has(cacheKey)) {
-            const cached = this.cache.get(cacheKey);
-            if (Date.now() - cached.timestamp < this.cacheTimeout) {
-                return cached.data;
-            }
-        }
-
-        try {
-            let breakdown;
-
-            if (dateRange) {
-                // Calculate breakdown from date-filtered expenses
-                const expenses = await app.get(`/expense/DateRange?startDate=${dateRange.startDate}&endDate=${dateRange.endDate}`);
-                breakdown = this.calculateCategoryBreakdown(expenses);
-            } else {
-                // Use dashboard endpoint
-                breakdown = await app.get('/dashboard/category-breakdown');
-            }
-
-            // Cache the result
-            this.cache.set(cacheKey, {
-                data: breakdown,
-                timestamp: Date.now()
-            });
-
-            return breakdown;
-        } catch (error) {
-            console.error('Error loading category breakdown:', error);
-            return [];
-        }
-    }
-
-    /**
-     * Calculate category breakdown from expenses
-     * @param {Array} expenses - Array of expenses
-     * @returns {Array} Category breakdown data
-     */
-    calculateCategoryBreakdown(expenses) {
-        if (!expenses || expenses.length === 0) {
-            return [];
-        }
-
-        const categoryTotals = {};
-        let totalAmount = 0;
-
-        // Calculate totals by category
-        expenses.forEach(expense => {
-            const category = expense.category || 'OTHER';
-            const amount = parseFloat(expense.amount || 0);
-
-            categoryTotals[category] = (categoryTotals[category] || 0) + amount;
-            totalAmount += amount;
-        });
-
-        // Convert to percentage breakdown
-        return Object.entries(categoryTotals).map(([category, amount]) => ({
-            name: this.getCategoryDisplayName(category),
-            category: category,
-            amount: amount,
-            percentage: totalAmount > 0 ? (amount / totalAmount) * 100 : 0
-        })).sort((a, b) => b.amount - a.amount);
-    }
-
     /**
      * Get display name for category
      * @param {string} category - Category code
@@ -344,32 +251,30 @@ class DashboardManager {
      */
     async loadMonthlyData() {
         try {
-            // This would ideally use a backend endpoint for monthly trends
-            // For now, we'll calculate from available data
-            const currentDate = new Date();
-            const monthlyData = [];
-
-            // Generate last 6 months of data
-            for (let i = 5; i >= 0; i--) {
-                const date = new Date(currentDate.getFullYear(), currentDate.getMonth() - i, 1);
-                const monthName = date.toLocaleDateString('en-US', { month: 'short', year: 'numeric' });
-
-                // In a real implementation, this would call a backend endpoint
-                // For now, we'll use placeholder data
-                monthlyData.push({
-                    month: monthName,
-                    amount: Math.random() * 1000 + 500, // Placeholder
-                    transactions: Math.floor(Math.random() * 20) + 5
-                });
-            }
-
-            return monthlyData;
+            return this.toMonthlyData(await app.get('/dashboard/monthly-expenses'));
         } catch (error) {
             console.error('Error loading monthly data:', error);
             return [];
         }
     }
 
+    /**
+     * Chart data from the server's monthly series
+     * @param {Object} series - One bucket per month for the last 12 months as parallel arrays
+     * @returns {Array} The last 6 months
+     */
+    toMonthlyData(series) {
+        return series.labels.slice(-6).map((label, i, labels) => {
+            const index = series.labels.length - labels.length + i;
+            const [year, month] = label.split('-').map(Number);
+            return {
+                month: new Date(year, month - 1, 1).toLocaleDateString('en-US', { month: 'short', year: 'numeric' }),
+                amount: parseFloat(series.totals[index] || 0),
+                transactions: series.counts[index] || 0
+            };
+        });
+    }
+
     /**
      * Process and display dashboard data
      * @param {Object} data - Dashboard data object
@@ -379,7 +284,8 @@ class DashboardManager {
         this.updateStatisticsCards(data.stats);
 
         // Update recent expenses
-        this.updateRecentExpenses(data.recentExpenses);
+        this.recentExpenses = data.recentExpenses || [];
+        this.updateRecentExpenses(this.recentExpenses);
 
         // Update category breakdown chart
         this.updateCategoryChart(data.categoryBreakdown);
@@ -506,7 +412,7 @@ class DashboardManager {
         }
 
         // Simple bar chart representation
-        const maxAmount = Math.max(...monthlyData.map(d => d.amount));
+        const maxAmount = Math.max(...monthlyData.map(d => d.amount)) || 1; // avoid dividing by zero for empty months
 
         chartContainer.innerHTML = `
             <div class="monthly-trend-chart">
@@ -626,52 +532,68 @@ class DashboardManager {
     }
 
     /**
-     * Export dashboard data
+     * Export the expenses of the selected time period as CSV
      */
-    async exportData() {
-        try {
-            // Create CSV content from current dashboard data
-            const data = await this.getCurrentDashboardData();
-            const csv = this.convertToCSV(data);
-
-            // Download CSV file
-            const blob = new Blob([csv], { type: 'text/csv' });
-            const url = window.URL.createObjectURL(blob);
-            const a = document.createElement('a');
-            a.href = url;
-            a.download = `dashboard-export-${new Date().toISOString().split('T')[0]}.csv`;
-            a.click();
-            window.URL.revokeObjectURL(url);
-
-            this.showSuccess('Data exported successfully!');
-        } catch (error) {
-            console.error('Export failed:', error);
-            this.showError('Failed to export data');
-        }
+    exportData() {
+        const dateRange = this.calculateDateRange(this.currentTimePeriod);
+        app.downloadExport('csv', { from: dateRange.startDate, to: dateRange.endDate });
     }
 
     /**
-     * Get current dashboard data for export
-     * @returns {Promise<Object>} Dashboard data
+     * Subscribe to live updates for the selected period. Each committed change arrives
+     * with the period's statistics and category breakdown, so no polling is needed.
+     * Falls back to periodic refresh where EventSource is not available.
      */
-    async getCurrentDashboardData() {
-        // This would gather all current dashboard data
-        return {
-            period: this.currentTimePeriod,
-            exportDate: new Date().toISOString(),
-            // Add actual data here
-        };
+    setupLiveUpdates() {
+        if (this.eventSource) {
+            this.eventSource.close();
+            this.eventSource = null;
+        }
+        if (typeof EventSource === 'undefined') {
+            this.setupAutoRefresh();
+            return;
+        }
+
+        const dateRange = this.calculateDateRange(this.currentTimePeriod);
+        this.eventSource = new EventSource(`${this.baseURL}/dashboard/stream${this.rangeQuery(dateRange)}`);
+        this.eventSource.addEventListener('expense', (e) => this.applyDelta(JSON.parse(e.data)));
+        // Sent when this page fell behind and missed changes
+        this.eventSource.addEventListener('resync', () => {
+            this.clearCache();
+            this.loadDashboardData();
+        });
+        // The browser reconnects on its own; nothing to do besides logging
+        this.eventSource.onerror = () => console.warn('Live updates interrupted, reconnecting');
     }
 
     /**
-     * Convert data to CSV format
-     * @param {Object} data - Data to convert
-     * @returns {string} CSV string
+     * Apply one change pushed by the server
+     * @param {Object} delta - type (ADDED, UPDATED, DELETED), expense, statistics and categoryBreakdown
      */
-    convertToCSV(data) {
-        // Simple CSV conversion - enhance as needed
-        return 'Period,Export Date\n' +
-               `${data.period},${data.exportDate}\n`;
+    async applyDelta(delta) {
+        this.clearCache();
+        if (!delta.statistics || !delta.categoryBreakdown) {
+            // Server could not compute the totals; fetch everything instead
+            this.loadDashboardData();
+            return;
+        }
+
+        this.updateStatisticsCards(delta.statistics);
+        this.updateCategoryChart(delta.categoryBreakdown);
+
+        const others = this.recentExpenses.filter(expense => expense.id !== delta.expense.id);
+        if (delta.type !== 'DELETED') {
+            others.push(delta.expense);
+            others.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt) || b.id - a.id);
+            this.recentExpenses = others.slice(0, 5);
+        } else if (others.length < this.recentExpenses.length) {
+            // A shown expense was deleted; the next older one is not known here
+            this.recentExpenses = await this.loadRecentExpenses();
+        }
+        this.updateRecentExpenses(this.recentExpenses);
+
+        this.updateMonthlyChart(await this.loadMonthlyData());
+        this.updateLastRefreshTime();
     }
 
     /**
@@ -821,6 +743,9 @@ class DashboardManager {
         if (this.refreshTimer) {
             clearInterval(this.refreshTimer);
         }
+        if (this.eventSource) {
+            this.eventSource.close();
+        }
         this.clearCache();
     }
 }
@@ -176,12 +176,13 @@ class ExpenseManager {
     /**
      * Fetch expenses by category using backend API
      * @param {string} category - Category to filter by
-     * @returns {Promise<Array>} Expenses for the category
+     * @returns {Promise<Array>} The newest expenses for the category (one page of up to 100)
      */
     async fetchByCategory(category) {
         try {
-            const endpoint = `/CategoryFilter?category=${encodeURIComponent(category)}`;
-            return await app.get(endpoint);
+            const endpoint = `/CategoryFilter?category=${encodeURIComponent(category)}&size=100`;
+            const page = await app.get(endpoint);
+            return page.items;
         } catch (error) {
             console.error('Error fetching expenses by category:', error);
             return [];
@@ -192,12 +193,13 @@ class ExpenseManager {
      * Fetch expenses by date range using backend API
      * @param {string} startDate - Start date in YYYY-MM-DD format
      * @param {string} endDate - End date in YYYY-MM-DD format
-     * @returns {Promise<Array>} Expenses in the date range
+     * @returns {Promise<Array>} The newest expenses in the date range (one page of up to 100)
      */
     async fetchByDateRange(startDate, endDate) {
         try {
-            const endpoint = `/DateRange?startDate=${encodeURIComponent(startDate)}&endDate=${encodeURIComponent(endDate)}`;
-            return await app.get(endpoint);
+            const endpoint = `/DateRange?startDate=${encodeURIComponent(startDate)}&endDate=${encodeURIComponent(endDate)}&size=100`;
+            const page = await app.get(endpoint);
+            return page.items;
         } catch (error) {
             console.error('Error fetching expenses by date range:', error);
             return [];
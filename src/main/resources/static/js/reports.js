@@ -0,0 +1,125 @@
+// Report jobs: submit a spec, follow the job's progress and download the finished artifact
+class ReportManager {
+    constructor() {
+        this.pollInterval = 2000; // while any report is queued or running
+        this.pollTimer = null;
+        this.init();
+    }
+
+    /**
+     * Initialize the form and load the user's recent reports
+     */
+    init() {
+        document.getElementById('reportForm').addEventListener('submit', (e) => {
+            e.preventDefault();
+            this.submitReport();
+        });
+        document.getElementById('refreshReports').addEventListener('click', () => this.loadJobs());
+        this.loadJobs();
+    }
+
+    /**
+     * Submit the form's spec; an identical recent report is returned instead of a new one
+     */
+    async submitReport() {
+        const button = document.getElementById('reportSubmit');
+        const spec = {
+            from: document.getElementById('reportFrom').value || null,
+            to: document.getElementById('reportTo').value || null,
+            category: document.getElementById('reportCategory').value || null,
+            grouping: document.getElementById('reportGrouping').value,
+            format: document.getElementById('reportFormat').value
+        };
+        if (spec.from && spec.to && spec.to < spec.from) {
+            app.showAlert('The end date is before the start date', 'error');
+            return;
+        }
+
+        app.setButtonLoading(button, true);
+        try {
+            const job = await app.post('/reports', spec);
+            if (job && job.status === 'DONE') {
+                app.showAlert('This report is already available', 'info');
+            } else if (job) {
+                app.showAlert('Report queued, it will be ready to download shortly', 'success');
+            }
+            await this.loadJobs();
+        } catch (error) {
+            // app.makeRequest has already shown the reason (e.g. too many reports in progress)
+        } finally {
+            app.setButtonLoading(button, false);
+        }
+    }
+
+    /**
+     * Load the recent reports, polling again while any of them is still being built
+     */
+    async loadJobs() {
+        clearTimeout(this.pollTimer);
+        let jobs = [];
+        try {
+            jobs = await app.get('/reports') || [];
+        } catch (error) {
+            return;
+        }
+        this.renderJobs(jobs);
+        if (jobs.some(job => job.status === 'QUEUED' || job.status === 'RUNNING')) {
+            this.pollTimer = setTimeout(() => this.loadJobs(), this.pollInterval);
+        }
+    }
+
+    renderJobs(jobs) {
+        const body = document.getElementById('reportJobs');
+        if (jobs.length === 0) {
+            body.innerHTML = '<tr><td colspan="7" class="text-muted">No reports yet</td></tr>';
+            return;
+        }
+        body.innerHTML = jobs.map(job => `
+            <tr>
+                <td>${this.escapeHtml(app.formatDate(job.createdAt))}</td>
+                <td>${this.escapeHtml(this.formatPeriod(job.spec))}</td>
+                <td>${this.escapeHtml(job.spec.category ? this.titleCase(job.spec.category) : 'All')}</td>
+                <td>${this.escapeHtml(job.spec.grouping === 'NONE' ? 'Every expense' : this.titleCase(job.spec.grouping))}</td>
+                <td>${this.escapeHtml(job.spec.format)}</td>
+                <td>${this.formatStatus(job)}</td>
+                <td>${job.downloadUrl
+                    ? `<a href="${job.downloadUrl}" class="btn btn-sm btn-primary"><i class="fas fa-download"></i> Download</a>`
+                    : ''}</td>
+            </tr>
+        `).join('');
+    }
+
+    formatPeriod(spec) {
+        if (!spec.from && !spec.to) {
+            return 'All time';
+        }
+        return `${spec.from || 'Start'} to ${spec.to || 'today'}`;
+    }
+
+    formatStatus(job) {
+        switch (job.status) {
+            case 'QUEUED':
+                return 'Queued';
+            case 'RUNNING':
+                return `Building… ${job.percent}%`;
+            case 'FAILED':
+                return `Failed${job.error ? ': ' + this.escapeHtml(job.error) : ''}`;
+            default:
+                return job.stale ? 'Ready (outdated)' : 'Ready';
+        }
+    }
+
+    titleCase(value) {
+        return value.charAt(0) + value.slice(1).toLowerCase();
+    }
+
+    escapeHtml(text) {
+        const div = document.createElement('div');
+        div.textContent = text;
+        return div.innerHTML;
+    }
+}
+
+document.addEventListener('DOMContentLoaded', () => {
+    window.reportManager = new ReportManager();
+});
@@ -0,0 +1,97 @@
+package com.example.Expense_Tracker.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.Expense_Tracker.Exception.CsvFormatException;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasAndLineBreaks() throws IOException {
+        assertThat(readAll("a,\"b, c\",\"line 1\nline 2\"\n"))
+            .containsExactly(List.of("a", "b, c", "line 1\nline 2"));
+    }
+
+    @Test
+    void doubledQuotesAreOneQuote() throws IOException {
+        assertThat(readAll("\"say \"\"hi\"\"\",\"\"\"\",\"\"\n"))
+            .containsExactly(List.of("say \"hi\"", "\"", ""));
+    }
+
+    @Test
+    void crlfEndsRecordsAndInsideQuotesBecomesLf() throws IOException {
+        CsvReader reader = reader("h1,h2\r\n1,\"x\r\ny\"\r\n2,z\r\n");
+        assertThat(reader.next()).containsExactly("h1", "h2");
+        assertThat(reader.next()).containsExactly("1", "x\ny");
+        assertThat(reader.next()).containsExactly("2", "z");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void byteOrderMarkIsSkipped() throws IOException {
+        assertThat(readAll("\uFEFFamount,category\n")).containsExactly(List.of("amount", "category"));
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreakAndEmptyFieldsAreKept() throws IOException {
+        assertThat(readAll("a,,\n,b")).containsExactly(List.of("a", "", ""), List.of("", "b"));
+    }
+
+    @Test
+    void unterminatedQuoteKeepsTheRestOfTheInputAsOneField() throws IOException {
+        assertThat(readAll("a,\"open\nb,c\n")).containsExactly(List.of("a", "open\nb,c\n"));
+    }
+
+    @Test
+    void overLongFieldStopsTheRead() throws IOException {
+        CsvReader reader = new CsvReader(stream("ok\n\"" + "x".repeat(20)), 10);
+        assertThat(reader.next()).containsExactly("ok");
+        assertThatThrownBy(reader::next)
+            .isInstanceOf(CsvFormatException.class)
+            .hasMessageContaining("Line 2");
+    }
+
+    @Test
+    void recordAfterMultiLineFieldReportsItsOwnLine() throws IOException {
+        CsvReader reader = reader("header\n\"one\ntwo\nthree\"\nnext\n");
+        reader.next();
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        reader.next();
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("next");
+        assertThat(reader.getRecordLine()).isEqualTo(5);
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(reader("").next()).isNull();
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = reader(csv);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(stream(csv), 1000);
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
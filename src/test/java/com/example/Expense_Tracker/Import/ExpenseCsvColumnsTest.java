@@ -0,0 +1,137 @@
+package com.example.Expense_Tracker.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.Expense_Tracker.DTO.ExpenseDto;
+import com.example.Expense_Tracker.DTO.ExpenseFilter;
+import com.example.Expense_Tracker.DTO.ExpenseView;
+import com.example.Expense_Tracker.Model.Expense.Category;
+import com.example.Expense_Tracker.Repository.ExpenseRepo;
+import com.example.Expense_Tracker.Service.ExpenseExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ExpenseCsvColumnsTest {
+
+    private static final ExpenseCsvColumns COLUMNS = ExpenseCsvColumns.of(List.of("Date", "Description", "Category", "Amount"));
+
+    @Test
+    void headerNamesMatchInAnyOrderCaseAndSpelling() {
+        assertThat(ExpenseCsvColumns.of(List.of("Id", " AMOUNT ", "created_at", "category", "Description", "extra")))
+            .isEqualTo(new ExpenseCsvColumns(2, 4, 3, 1));
+        assertThat(ExpenseCsvColumns.of(List.of("amount", "description", "category")).date()).isEqualTo(-1);
+    }
+
+    @Test
+    void headerWithoutRequiredColumnOrEmptyFileIsRejected() {
+        assertThatThrownBy(() -> ExpenseCsvColumns.of(List.of("date", "description", "category")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("amount");
+        assertThatThrownBy(() -> ExpenseCsvColumns.of(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rowBecomesExpenseDto() {
+        ExpenseDto expense = COLUMNS.toExpense(List.of("2025-02-01T12:30", " Lunch ", "food", "12.5"));
+        assertThat(expense.getCreatedAt()).isEqualTo(LocalDateTime.of(2025, 2, 1, 12, 30));
+        assertThat(expense.getDescription()).isEqualTo("Lunch");
+        assertThat(expense.getCategory()).isEqualTo(Category.FOOD);
+        assertThat(expense.getAmount()).isEqualTo(new BigDecimal("12.50"));
+    }
+
+    @Test
+    void categoryMatchesDisplayName() {
+        assertThat(COLUMNS.toExpense(List.of("", "Bus", "Transportation", "2")).getCategory()).isEqualTo(Category.TRANSPORTATION);
+        assertRejected(List.of("", "Bus", "Groceries", "2"), "Unknown category");
+    }
+
+    @Test
+    void amountMustBePositiveWithAtMostTwoDecimals() {
+        assertThat(COLUMNS.toExpense(List.of("", "x", "FOOD", "1.2300")).getAmount()).isEqualTo(new BigDecimal("1.23"));
+        assertRejected(List.of("", "x", "FOOD", "1.234"), "more than two decimals");
+        assertRejected(List.of("", "x", "FOOD", "0"), "greater than zero");
+        assertRejected(List.of("", "x", "FOOD", "-5"), "greater than zero");
+        assertRejected(List.of("", "x", "FOOD", "abc"), "not a number");
+        assertRejected(List.of("", "x", "FOOD", "1" + "0".repeat(36)), "too large");
+        assertRejected(List.of("", "x", "FOOD", ""), "Amount is missing");
+    }
+
+    @Test
+    void formulaGuardQuoteIsRemovedOtherQuotesKept() {
+        assertThat(COLUMNS.toExpense(List.of("", "'=SUM(A1)", "FOOD", "1")).getDescription()).isEqualTo("=SUM(A1)");
+        assertThat(COLUMNS.toExpense(List.of("", "'-5 discount", "FOOD", "1")).getDescription()).isEqualTo("-5 discount");
+        assertThat(COLUMNS.toExpense(List.of("", "'quoted'", "FOOD", "1")).getDescription()).isEqualTo("'quoted'");
+    }
+
+    @Test
+    void descriptionIsRequiredAndLimited() {
+        assertRejected(List.of("", " ", "FOOD", "1"), "Description is missing");
+        assertRejected(List.of("", "x".repeat(256), "FOOD", "1"), "longer than 255");
+    }
+
+    @Test
+    void dateIsIsoDateOrDateTimeAndDefaultsToNow() {
+        assertThat(COLUMNS.toExpense(List.of("2025-01-31", "x", "FOOD", "1")).getCreatedAt())
+            .isEqualTo(LocalDateTime.of(2025, 1, 31, 0, 0));
+        assertThat(COLUMNS.toExpense(List.of("2025-01-31T08:15:30.123456", "x", "FOOD", "1")).getCreatedAt())
+            .isEqualTo(LocalDateTime.of(2025, 1, 31, 8, 15, 30, 123_456_000));
+        assertThat(COLUMNS.toExpense(List.of("", "x", "FOOD", "1")).getCreatedAt())
+            .isCloseTo(LocalDateTime.now(), within(1, ChronoUnit.MINUTES));
+        assertRejected(List.of("31/01/2025", "x", "FOOD", "1"), "not an ISO date");
+    }
+
+    @Test
+    void missingTrailingFieldsReadAsEmpty() {
+        assertRejected(List.of("2025-01-31", "x"), "Amount is missing");
+    }
+
+    @Test
+    void exportedCsvImportsBackUnchanged() throws IOException {
+        List<ExpenseView> expenses = List.of(
+            new ExpenseView(1L, new BigDecimal("10.50"), "=SUM(A1)", Category.FOOD, LocalDateTime.of(2025, 1, 5, 10, 0)),
+            new ExpenseView(2L, new BigDecimal("4.00"), "a, \"quoted\"\nsecond line", Category.HEALTHCARE,
+                LocalDateTime.of(2025, 2, 1, 8, 15, 30, 500_000_000)),
+            new ExpenseView(3L, new BigDecimal("1234.99"), "Rent", Category.UTILITIES, LocalDateTime.of(2025, 3, 1, 0, 0)));
+        ExpenseRepo expenseRepo = mock(ExpenseRepo.class);
+        when(expenseRepo.streamViews(any(), any(), anyInt())).thenReturn(expenses.stream());
+        ExpenseExportService exportService = new ExpenseExportService(expenseRepo, new ObjectMapper(),
+            mock(PlatformTransactionManager.class), 500, 1);
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        exportService.export(1L, ExpenseFilter.NONE, ExpenseExportService.Format.CSV).writeTo(exported);
+
+        CsvReader reader = new CsvReader(new ByteArrayInputStream(exported.toByteArray()), 1000);
+        ExpenseCsvColumns columns = ExpenseCsvColumns.of(reader.next());
+        List<ExpenseView> imported = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            ExpenseDto row = columns.toExpense(record);
+            imported.add(new ExpenseView((long) imported.size() + 1, row.getAmount(), row.getDescription(),
+                row.getCategory(), row.getCreatedAt()));
+        }
+        assertThat(imported).isEqualTo(expenses);
+    }
+
+    private static void assertRejected(List<String> row, String message) {
+        assertThatThrownBy(() -> COLUMNS.toExpense(row))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(message);
+    }
+}
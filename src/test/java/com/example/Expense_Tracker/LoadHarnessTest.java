@@ -0,0 +1,301 @@
+package com.example.Expense_Tracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.Service.ExpenseRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * End-to-end load run against the full application on an embedded H2 database in
+ * PostgreSQL mode. Seeds load.users users with load.expenses-per-user expenses each
+ * straight through JDBC, then load.concurrency clients drive a mix of login, add,
+ * API page, /expenses page and dashboard requests over HTTP for load.duration after
+ * load.warmup. Throughput and latency percentiles per endpoint are printed and written
+ * to target/load-report.json. Runs offline.
+ * Excluded from the normal build; run with
+ * mvn test -Dgroups=benchmark -DexcludedGroups=none -Dtest=LoadHarnessTest -Dload.users=50 -Dload.expenses-per-user=5000
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+    "logging.level.com.example.Expense_Tracker=WARN"
+})
+@ActiveProfiles("test")
+class LoadHarnessTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int DAYS = 365;
+    private static final int BATCH_SIZE = 10_000;
+
+    // Share of requests per endpoint, in percent
+    private static final Map<String, Integer> MIX = mix();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${load.users:20}")
+    private int users;
+
+    @Value("${load.expenses-per-user:1000}")
+    private int expensesPerUser;
+
+    @Value("${load.concurrency:16}")
+    private int concurrency;
+
+    @Value("${load.duration:30s}")
+    private Duration duration;
+
+    @Value("${load.warmup:5s}")
+    private Duration warmup;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    // 429/503 responses: the server shedding load by design, not failures
+    private final Map<String, AtomicLong> rejected = new LinkedHashMap<>();
+
+    @Test
+    void mixedTraffic() throws Exception {
+        long seedStart = System.nanoTime();
+        List<String> usernames = seed();
+        System.out.printf("Seeded %,d users x %,d expenses in %,d ms%n",
+            users, expensesPerUser, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+        List<String> tokens = new ArrayList<>();
+        for (String username : usernames) {
+            tokens.add(login(username));
+        }
+        MIX.keySet().forEach(endpoint -> {
+            errors.put(endpoint, new AtomicLong());
+            rejected.put(endpoint, new AtomicLong());
+        });
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.submit(() -> drive(usernames, tokens, measureFrom, deadline));
+        }
+        clients.shutdown();
+        assertThat(clients.awaitTermination(warmup.plus(duration).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+
+        Map<String, Object> report = report();
+        Path file = Path.of("target", "load-report.json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+
+        for (String endpoint : MIX.keySet()) {
+            assertThat(timer(endpoint).count()).as(endpoint + " requests").isPositive();
+            assertThat(errors.get(endpoint).get()).as(endpoint + " errors").isZero();
+        }
+    }
+
+    private static Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("login", 5);
+        mix.put("add", 15);
+        mix.put("api-page", 25);
+        mix.put("expenses-page", 25);
+        mix.put("dashboard", 30);
+        return mix;
+    }
+
+    // Users share one password hash: hashing per user would dominate the seeding time
+    private List<String> seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        Expense.Category[] categories = Expense.Category.values();
+        LocalDateTime now = LocalDateTime.now();
+        long secondsBetween = Math.max(1, DAYS * 86_400L / Math.max(1, expensesPerUser));
+        List<String> usernames = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < users; u++) {
+            String username = "load" + u;
+            jdbc.update("INSERT INTO users (username, password, email) VALUES (?, ?, ?)", username, hash, username + "@example.com");
+            Long userId = jdbc.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+            usernames.add(username);
+            for (int i = 0; i < expensesPerUser; i++) {
+                batch.add(new Object[] {
+                    BigDecimal.valueOf(100 + (i * 7919L) % 9900, 2),
+                    (i % 10 == 0 ? "team lunch " : "expense ") + i,
+                    categories[i % categories.length].name(),
+                    Timestamp.valueOf(now.minusSeconds((expensesPerUser - i) * secondsBetween)),
+                    userId
+                });
+                if (batch.size() == BATCH_SIZE) {
+                    insertExpenses(batch);
+                }
+            }
+        }
+        insertExpenses(batch);
+        rollupService.rebuildAll();
+        return usernames;
+    }
+
+    private void insertExpenses(List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO expenses (amount, description, category, created_at, user_id) VALUES (?, ?, ?, ?, ?)", batch);
+            batch.clear();
+        }
+    }
+
+    private void drive(List<String> usernames, List<String> tokens, long measureFrom, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            int user = random.nextInt(usernames.size());
+            String endpoint = pick(random.nextInt(100));
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = send(endpoint, usernames.get(user), tokens.get(user));
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= measureFrom) {
+                timer(endpoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (status == 429 || status == 503) {
+                    rejected.get(endpoint).incrementAndGet();
+                } else if (status != 200) {
+                    errors.get(endpoint).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static String pick(int roll) {
+        int cumulative = 0;
+        for (Map.Entry<String, Integer> entry : MIX.entrySet()) {
+            cumulative += entry.getValue();
+            if (roll < cumulative) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix does not add up to 100");
+    }
+
+    private int send(String endpoint, String username, String token) throws IOException, InterruptedException {
+        HttpRequest request = switch (endpoint) {
+            case "login" -> json("/api/auth/login", Map.of("username", username, "password", PASSWORD)).build();
+            case "add" -> json("/api/expense/add", Map.of(
+                    "amount", "12.50", "description", "load test", "category", "FOOD"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+            case "api-page" -> get("/api/expense/page?size=20").header("Authorization", "Bearer " + token).build();
+            case "expenses-page" -> get("/expenses").header("Cookie", "authToken=" + token).build();
+            case "dashboard" -> get("/api/dashboard/summary").header("Authorization", "Bearer " + token).build();
+            default -> throw new IllegalArgumentException(endpoint);
+        };
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        HttpResponse<Void> response = http.send(
+            json("/api/auth/login", Map.of("username", username, "password", PASSWORD)).build(),
+            HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).as("login " + username).isEqualTo(200);
+        String cookie = response.headers().firstValue("Set-Cookie").orElseThrow();
+        return cookie.substring("authToken=".length(), cookie.indexOf(';'));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+    }
+
+    private HttpRequest.Builder json(String path, Map<String, String> body) throws IOException {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+    }
+
+    private Timer timer(String endpoint) {
+        return Timer.builder("load.request")
+            .tag("endpoint", endpoint)
+            .publishPercentiles(0.5, 0.9, 0.99)
+            // Keep the whole run in the percentile window
+            .distributionStatisticExpiry(Duration.ofHours(1))
+            .distributionStatisticBufferLength(1)
+            .register(registry);
+    }
+
+    private Map<String, Object> report() {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-14s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "rejected", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (String endpoint : MIX.keySet()) {
+            HistogramSnapshot snapshot = timer(endpoint).takeSnapshot();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", snapshot.count());
+            row.put("errors", errors.get(endpoint).get());
+            row.put("rejected", rejected.get(endpoint).get());
+            row.put("throughput", snapshot.count() / seconds);
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                row.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+            }
+            row.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+            endpoints.put(endpoint, row);
+            System.out.printf("%-14s %,9d %,7d %,9d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                row.get("requests"), row.get("errors"), row.get("rejected"), row.get("throughput"),
+                row.get("p50"), row.get("p90"), row.get("p99"), row.get("max"));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("expensesPerUser", expensesPerUser);
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", seconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.Expense_Tracker.Repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Checks with EXPLAIN that the ExpenseRepo query shapes are served by the
+ * indexes from the V2 migration rather than a table scan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpenseIndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    // Committed once so the planner's row estimates (refreshed by ANALYZE) see the data
+    @BeforeEach
+    void seed() {
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'user1'", Long.class) > 0) {
+            return;
+        }
+        for (int u = 1; u <= 20; u++) {
+            jdbc.update("INSERT INTO users (username, password, email) VALUES (?, 'x', ?)", "user" + u, "user" + u + "@example.com");
+        }
+        List<Long> userIds = jdbc.queryForList("SELECT id FROM users", Long.class);
+        String[] categories = {"FOOD", "OTHER", "UTILITIES"};
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 2000; i++) {
+            rows.add(new Object[] {new BigDecimal("10.00"), "expense " + i, categories[i % categories.length],
+                Timestamp.valueOf(start.plusHours(i)), userIds.get(i % userIds.size())});
+        }
+        jdbc.batchUpdate("INSERT INTO expenses (amount, description, category, created_at, user_id) VALUES (?, ?, ?, ?, ?)", rows);
+        jdbc.execute("ANALYZE");
+    }
+
+    // H2 gives the user_id foreign key an index of its own and may pick it here; PostgreSQL
+    // does not index foreign keys, so the plan is taken without it to match
+    @Test
+    void newestFirstPageSeeksByUser() {
+        jdbc.execute("ALTER TABLE expenses DROP CONSTRAINT fk_expenses_user");
+        try {
+            assertThat(plan("SELECT e.* FROM expenses e WHERE e.user_id = " + userId() + " "
+                + "ORDER BY e.created_at DESC, e.id DESC LIMIT 21"))
+                .containsIgnoringCase("idx_expenses_user_created");
+        } finally {
+            jdbc.execute("ALTER TABLE expenses ADD CONSTRAINT fk_expenses_user FOREIGN KEY (user_id) REFERENCES users (id)");
+        }
+    }
+
+    @Test
+    void keysetSeekUsesUserCreatedIndex() {
+        assertThat(plan("SELECT e.* FROM expenses e WHERE e.user_id = " + userId() + " "
+            + "AND e.created_at <= TIMESTAMP '2025-02-01 00:00:00' "
+            + "AND (e.created_at < TIMESTAMP '2025-02-01 00:00:00' OR e.id < 500) "
+            + "ORDER BY e.created_at DESC, e.id DESC LIMIT 21"))
+            .containsIgnoringCase("idx_expenses_user_created");
+    }
+
+    @Test
+    void dateRangeTotalsUseUserCreatedIndex() {
+        assertThat(plan("SELECT SUM(e.amount), COUNT(e.id) FROM expenses e "
+            + "WHERE e.user_id = " + userId() + " AND e.created_at >= TIMESTAMP '2025-01-01 00:00:00' "
+            + "AND e.created_at < TIMESTAMP '2025-02-01 00:00:00'"))
+            .containsIgnoringCase("idx_expenses_user_created");
+    }
+
+    @Test
+    void categoryFilterUsesUserCategoryCreatedIndex() {
+        assertThat(plan("SELECT e.* FROM expenses e WHERE e.user_id = " + userId() + " "
+            + "AND e.category = 'FOOD' ORDER BY e.created_at DESC"))
+            .containsIgnoringCase("idx_expenses_user_category_created");
+    }
+
+    private long userId() {
+        return jdbc.queryForObject("SELECT id FROM users WHERE username = 'user1'", Long.class);
+    }
+
+    private String plan(String sql) {
+        List<String> rows = jdbc.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", rows);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.Expense_Tracker.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.Repository.UserRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A client that stops reading must not hold up other users' streams. With a single
+ * stream thread, user A's socket is filled until the write to it blocks; user B's
+ * stream still receives its event, and A's stream is closed once its write has
+ * blocked past the write timeout.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "dashboard.stream.pool-size=1",
+    "dashboard.stream.write-timeout=1s",
+    "dashboard.stream.write-check-interval=200ms",
+    // The stalled request only ends at its timeout; keep that short so shutdown does not wait on it
+    "dashboard.stream.timeout=8s"
+})
+@ActiveProfiles("test")
+class DashboardStreamsTest {
+
+    private static final String PASSWORD = "stream-test-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DashboardStreams dashboardStreams;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void stalledClientDoesNotBlockOtherUsers() throws Exception {
+        String stalledToken = registerAndLogin("stalled");
+        String readerToken = registerAndLogin("reader");
+        Long stalledId = userRepo.findByUsername("stalled").orElseThrow().getId();
+        Long readerId = userRepo.findByUsername("reader").orElseThrow().getId();
+
+        try (Socket stalled = new Socket()) {
+            // Opens the stream and never reads from it
+            stalled.setReceiveBufferSize(4096);
+            stalled.connect(new InetSocketAddress("localhost", port));
+            OutputStream request = stalled.getOutputStream();
+            request.write(("GET /api/dashboard/stream HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n"
+                + "Cookie: authToken=" + stalledToken + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            request.flush();
+            Thread.sleep(500);
+
+            // Far more than the socket buffers hold, in fewer events than trigger a resync,
+            // so the stream thread blocks writing to it
+            String description = "x".repeat(2 * 1024 * 1024);
+            for (int i = 0; i < 16; i++) {
+                dashboardStreams.onExpenseChanged(event(stalledId, "stalled", i, description));
+            }
+            Thread.sleep(500);
+
+            HttpRequest open = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/dashboard/stream"))
+                .header("Cookie", "authToken=" + readerToken)
+                .GET()
+                .build();
+            HttpResponse<Stream<String>> reader = http.sendAsync(open, HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+            try (Stream<String> lines = reader.body()) {
+                CompletableFuture<Boolean> received = CompletableFuture.supplyAsync(
+                    () -> lines.anyMatch(line -> line.equals("event:expense")));
+                dashboardStreams.onExpenseChanged(event(readerId, "reader", 1, "coffee"));
+
+                assertThat(received.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+
+            // The stalled stream is closed once its write has blocked past the write timeout
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (stalledStreams() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(stalledStreams()).isEqualTo(1.0);
+        }
+    }
+
+    private double stalledStreams() {
+        return meterRegistry.get("dashboard.streams.stalled").counter().count();
+    }
+
+    private static ExpenseChangedEvent event(Long userId, String username, long id, String description) {
+        Expense expense = Expense.builder()
+            .id(id)
+            .amount(new BigDecimal("1.00"))
+            .description(description)
+            .category(Expense.Category.FOOD)
+            .createdAt(LocalDateTime.now())
+            .build();
+        return new ExpenseChangedEvent(userId, username, ExpenseChangedEvent.Type.ADDED, expense);
+    }
+
+    private String registerAndLogin(String username) throws IOException, InterruptedException {
+        http.send(json("/api/auth/register", Map.of("username", username, "password", PASSWORD,
+            "email", username + "@example.com")), HttpResponse.BodyHandlers.discarding());
+        HttpResponse<Void> response = http.send(json("/api/auth/login", Map.of("username", username, "password", PASSWORD)),
+            HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).as("login " + username).isEqualTo(200);
+        String cookie = response.headers().firstValue("Set-Cookie").orElseThrow();
+        return cookie.substring("authToken=".length(), cookie.indexOf(';'));
+    }
+
+    private HttpRequest json(String path, Map<String, String> body) throws IOException {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+            .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.Expense_Tracker.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.example.Expense_Tracker.Model.Expense;
+import com.example.Expense_Tracker.Model.ExpenseRollupId;
+import com.example.Expense_Tracker.Model.User;
+import com.example.Expense_Tracker.Repository.ExpenseRepo;
+import com.example.Expense_Tracker.Repository.ExpenseRollupRepo;
+import com.example.Expense_Tracker.Repository.UserRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that the rollup deltas applied for adds, updates, deletes and imports leave
+ * expense_rollups equal to a fresh aggregate of the expenses table.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ExpenseRollupService.class, DashboardCache.class, ExpenseRollupServiceTest.Metrics.class})
+class ExpenseRollupServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 10, 12, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2025, 2, 3, 9, 30);
+    private static final LocalDateTime MARCH = LocalDateTime.of(2025, 3, 21, 18, 15);
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @MockitoSpyBean
+    private ExpenseRollupRepo rollupRepo;
+
+    @Autowired
+    private ExpenseRepo expenseRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = userRepo.save(User.builder().username("rollup-user").password("x").email("rollup-user@example.com").build());
+    }
+
+    @Test
+    void deltasMatchAggregateOfExpenses() {
+        Expense groceries = add("12.50", Expense.Category.FOOD, JANUARY);
+        Expense cinema = add("9.00", Expense.Category.ENTERTAINMENT, JANUARY);
+        add("30.25", Expense.Category.FOOD, FEBRUARY);
+
+        // Amount and category change: moves the contribution to another key of the same month
+        BigDecimal previousAmount = groceries.getAmount();
+        Expense.Category previousCategory = groceries.getCategory();
+        groceries.setAmount(new BigDecimal("14.10"));
+        groceries.setCategory(Expense.Category.UTILITIES);
+        rollupService.recordUpdated(expenseRepo.save(groceries), previousAmount, previousCategory);
+
+        // Leaves the January ENTERTAINMENT row at zero
+        expenseRepo.delete(cinema);
+        rollupService.recordRemoved(cinema);
+
+        List<Expense> imported = expenseRepo.saveAll(List.of(
+            expense("4.75", Expense.Category.FOOD, FEBRUARY),
+            expense("5.25", Expense.Category.FOOD, FEBRUARY),
+            expense("60.00", Expense.Category.HEALTHCARE, MARCH)));
+        rollupService.recordImported(user.getId(), imported);
+
+        assertThat(rollups()).isEqualTo(aggregate()).hasSize(3);
+
+        rollupService.rebuildForUser(user.getId());
+        assertThat(rollups()).isEqualTo(aggregate());
+    }
+
+    // Another transaction inserts the row between this one's UPDATE and INSERT: the UPDATE
+    // matches nothing, the INSERT hits the conflict, and the delta goes through the second UPDATE
+    @Test
+    void newKeyInsertedConcurrentlyGetsDeltaAdded() {
+        add("8.00", Expense.Category.TRANSPORTATION, MARCH);
+        ExpenseRollupId key = new ExpenseRollupId(user.getId(), 2025, 3, Expense.Category.TRANSPORTATION);
+        clearInvocations(rollupRepo);
+        // Later calls go through to the repository, as the spy's unstubbed calls do
+        doReturn(0).doAnswer(mockingDetails(rollupRepo).getMockCreationSettings().getDefaultAnswer())
+            .when(rollupRepo).applyDelta(eq(key), any(), anyLong());
+
+        add("2.50", Expense.Category.TRANSPORTATION, MARCH);
+
+        verify(rollupRepo, times(2)).applyDelta(eq(key), any(), anyLong());
+        verify(rollupRepo).insertIfAbsent(user.getId(), 2025, 3, "TRANSPORTATION", new BigDecimal("2.50"), 1);
+        assertThat(rollups()).isEqualTo(aggregate()).containsEntry("2025-3-TRANSPORTATION", "10.5/2");
+    }
+
+    private Expense add(String amount, Expense.Category category, LocalDateTime createdAt) {
+        Expense saved = expenseRepo.save(expense(amount, category, createdAt));
+        rollupService.recordAdded(saved);
+        return saved;
+    }
+
+    private Expense expense(String amount, Expense.Category category, LocalDateTime createdAt) {
+        return Expense.builder()
+            .amount(new BigDecimal(amount))
+            .description(category + " " + amount)
+            .category(category)
+            .createdAt(createdAt)
+            .user(user)
+            .build();
+    }
+
+    // Rows a delete brought to zero stay in the table but are absent from the aggregate
+    private Map<String, String> rollups() {
+        entityManager.flush();
+        return jdbc.queryForList("SELECT period_year, period_month, category, total, expense_count FROM expense_rollups "
+                + "WHERE user_id = ? AND expense_count > 0", user.getId()).stream()
+            .collect(Collectors.toMap(
+                row -> row.get("period_year") + "-" + row.get("period_month") + "-" + row.get("category"),
+                row -> totalAndCount((BigDecimal) row.get("total"), ((Number) row.get("expense_count")).longValue())));
+    }
+
+    private Map<String, String> aggregate() {
+        return expenseRepo.aggregateMonthlyByCategory(user.getId()).stream()
+            .collect(Collectors.toMap(
+                row -> row.getPeriodYear() + "-" + row.getPeriodMonth() + "-" + row.getCategory(),
+                row -> totalAndCount(row.getTotal(), row.getExpenseCount())));
+    }
+
+    private static String totalAndCount(BigDecimal total, long count) {
+        return total.stripTrailingZeros().toPlainString() + "/" + count;
+    }
+}